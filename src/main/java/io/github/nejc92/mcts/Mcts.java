@@ -2,16 +2,72 @@ package io.github.nejc92.mcts;
 
 import com.rits.cloning.Cloner;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
 
 public class Mcts<StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent<StateT>> {
 
     private static final double NO_EXPLORATION = 0;
+    private static final int DEFAULT_VIRTUAL_LOSS = 1;
+    private static final long NO_TIME_LIMIT = 0;
+    private static final int NO_NODE_LIMIT = Integer.MAX_VALUE;
+    private static final int ITERATIONS_BETWEEN_RECORDED_ITERATIONS = 64;
+    private static final int ITERATIONS_BETWEEN_EARLY_TERMINATION_CHECKS = 32;
+    private static final double EVICTED_FRACTION_OF_MEMORY_BOUND = 0.1;
+    private static final int LOG_TABLE_SIZE = 1 << 12;
+    private static final double[] LOG_TABLE = createLogTable();
 
     private final int numberOfIterations;
     private double explorationParameter;
+    private int virtualLoss;
+    private long timeLimitNanos;
+    private int nodeLimit;
+    private int maximumNumberOfNodesInMemory;
+    private boolean subtreeEvictionEnabled;
+    private boolean stateDroppingEnabled;
+    private boolean earlyTerminationEnabled;
+    private boolean seeded;
+    private long seed;
+    private SplittableRandom searchRandom;
+    private IntUnaryOperator progressiveWidening;
+    private Object progressiveWideningSetting;
+    private MctsActionOrdering<StateT, ActionT> actionOrdering;
+    private MctsRaveSchedule raveSchedule;
+    private Object raveSetting;
+    private MctsLeafEvaluator<StateT, ActionT> leafEvaluator;
+    private MctsResultCache<ActionT> resultCache;
+    private int leafEvaluationBatchSize;
+    private AtomicBoolean cancellationFlag;
+    private MctsSearchBudget searchBudget;
+    private MctsTreeArena<StateT, ActionT, AgentT> treeArena;
+    private MctsTranspositionTable transpositionTable;
+    private MctsSearchListener<ActionT> searchListener;
+    private Object searchEvent;
+    private final AtomicBoolean searchRunning;
     private final Cloner cloner;
+    private final List<Class<?>> classesNotToClone;
+    private final ThreadLocal<StateT> rolloutScratchStates;
+    private final ThreadLocal<MctsRolloutTrace<ActionT, AgentT>> rolloutTraces;
 
     public static<StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent<StateT>>
         Mcts<StateT, ActionT, AgentT> initializeIterations(int numberOfIterations) {
@@ -22,99 +78,1313 @@ public class Mcts<StateT extends MctsDomainState<ActionT, AgentT>, ActionT, Agen
     private Mcts(int numberOfIterations, Cloner cloner) {
         this.numberOfIterations = numberOfIterations;
         this.cloner = cloner;
+        this.classesNotToClone = new ArrayList<>();
+        this.rolloutScratchStates = new ThreadLocal<>();
+        this.rolloutTraces = ThreadLocal.withInitial(MctsRolloutTrace::new);
+        this.virtualLoss = DEFAULT_VIRTUAL_LOSS;
+        this.timeLimitNanos = NO_TIME_LIMIT;
+        this.nodeLimit = NO_NODE_LIMIT;
+        this.maximumNumberOfNodesInMemory = NO_NODE_LIMIT;
+        this.cancellationFlag = new AtomicBoolean(false);
+        this.searchBudget = createSearchBudget(new AtomicBoolean(false));
+        this.searchRandom = new SplittableRandom();
+        this.searchRunning = new AtomicBoolean(false);
     }
 
     public void dontClone(final Class<?>... classes) {
         cloner.dontClone(classes);
+        Collections.addAll(classesNotToClone, classes);
+    }
+
+    public void setVirtualLoss(int virtualLoss) {
+        if (virtualLoss < 0)
+            throw new IllegalArgumentException("Error: virtual loss must not be negative");
+        this.virtualLoss = virtualLoss;
+    }
+
+    public void setTimeLimit(long timeLimit, TimeUnit unit) {
+        if (timeLimit <= 0)
+            throw new IllegalArgumentException("Error: time limit must be positive");
+        this.timeLimitNanos = unit.toNanos(timeLimit);
+    }
+
+    public void removeTimeLimit() {
+        this.timeLimitNanos = NO_TIME_LIMIT;
+    }
+
+    public void setNodeLimit(int nodeLimit) {
+        if (nodeLimit < 1)
+            throw new IllegalArgumentException("Error: node limit must be positive");
+        this.nodeLimit = nodeLimit;
+    }
+
+    public void removeNodeLimit() {
+        this.nodeLimit = NO_NODE_LIMIT;
+    }
+
+    public void setMemoryBound(int maximumNumberOfNodes) {
+        if (maximumNumberOfNodes < 1)
+            throw new IllegalArgumentException("Error: maximum number of nodes must be positive");
+        this.maximumNumberOfNodesInMemory = maximumNumberOfNodes;
+    }
+
+    public void removeMemoryBound() {
+        this.maximumNumberOfNodesInMemory = NO_NODE_LIMIT;
+    }
+
+    public void enableSubtreeEviction() {
+        this.subtreeEvictionEnabled = true;
+    }
+
+    public void disableSubtreeEviction() {
+        this.subtreeEvictionEnabled = false;
+    }
+
+    public void enableStateDropping() {
+        this.stateDroppingEnabled = true;
+    }
+
+    public void disableStateDropping() {
+        this.stateDroppingEnabled = false;
+    }
+
+    public void enableProgressiveWidening(double coefficient, double exponent) {
+        if (coefficient <= 0)
+            throw new IllegalArgumentException("Error: widening coefficient must be positive");
+        if (exponent < 0)
+            throw new IllegalArgumentException("Error: widening exponent must not be negative");
+        this.progressiveWidening =
+                visitCount -> (int) Math.ceil(coefficient * Math.pow(visitCount, exponent));
+        this.progressiveWideningSetting = Arrays.asList(coefficient, exponent);
+    }
+
+    public void enableProgressiveWidening(IntUnaryOperator maximumNumberOfChildNodes) {
+        this.progressiveWidening = maximumNumberOfChildNodes;
+        this.progressiveWideningSetting = maximumNumberOfChildNodes;
+    }
+
+    public void disableProgressiveWidening() {
+        this.progressiveWidening = null;
+        this.progressiveWideningSetting = null;
+    }
+
+    public void setActionOrdering(MctsActionOrdering<StateT, ActionT> actionOrdering) {
+        this.actionOrdering = actionOrdering;
+    }
+
+    public void removeActionOrdering() {
+        this.actionOrdering = null;
+    }
+
+    public void enableRave(double equivalenceParameter) {
+        if (equivalenceParameter <= 0)
+            throw new IllegalArgumentException("Error: equivalence parameter must be positive");
+        // amaf values are weighted equally to node's own values after equivalenceParameter visits
+        this.raveSchedule = (visitCount, amafVisitCount) ->
+                Math.sqrt(equivalenceParameter / (3 * visitCount + equivalenceParameter));
+        this.raveSetting = equivalenceParameter;
+    }
+
+    public void enableRave(MctsRaveSchedule raveSchedule) {
+        this.raveSchedule = raveSchedule;
+        this.raveSetting = raveSchedule;
+    }
+
+    public void disableRave() {
+        this.raveSchedule = null;
+        this.raveSetting = null;
+    }
+
+    public void setLeafEvaluator(MctsLeafEvaluator<StateT, ActionT> leafEvaluator, int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Error: batch size must be positive");
+        this.leafEvaluator = leafEvaluator;
+        this.leafEvaluationBatchSize = batchSize;
+    }
+
+    public void removeLeafEvaluator() {
+        this.leafEvaluator = null;
+    }
+
+    public void setResultCache(MctsResultCache<ActionT> resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public void removeResultCache() {
+        this.resultCache = null;
+    }
+
+    public void enableEarlyTermination() {
+        this.earlyTerminationEnabled = true;
+    }
+
+    public void disableEarlyTermination() {
+        this.earlyTerminationEnabled = false;
+    }
+
+    public void setSeed(long seed) {
+        this.seeded = true;
+        this.seed = seed;
+    }
+
+    public void removeSeed() {
+        this.seeded = false;
+    }
+
+    public void setCancellationFlag(AtomicBoolean cancellationFlag) {
+        this.cancellationFlag = cancellationFlag;
+    }
+
+    public void enableTranspositionTable(int capacity) {
+        this.transpositionTable = new MctsTranspositionTable(capacity);
+    }
+
+    public void disableTranspositionTable() {
+        this.transpositionTable = null;
+    }
+
+    MctsTranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    public void clearTranspositionTable() {
+        if (transpositionTable != null)
+            transpositionTable.clear();
+    }
+
+    public void setSearchListener(MctsSearchListener<ActionT> searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    public void removeSearchListener() {
+        this.searchListener = null;
+    }
+
+    public int getNumberOfIterationsOfLastSearch() {
+        return searchBudget.getNumberOfCompletedIterations();
+    }
+
+    public int getNumberOfIterationsSavedByLastSearch() {
+        return searchBudget.getNumberOfSavedIterations();
+    }
+
+    int getNumberOfNodesOfLastSearch() {
+        return searchBudget.getNumberOfNodes();
     }
 
     public ActionT uctSearchWithExploration(StateT state, double explorationParameter) {
-        setExplorationForSearch(explorationParameter);
+        acquireSearch();
+        try {
+            return uctSearchWithExplorationOfAcquiredSearch(state, explorationParameter);
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    private ActionT uctSearchWithExplorationOfAcquiredSearch(StateT state, double explorationParameter) {
+        if (resultCache != null && state instanceof MctsHashableDomainState)
+            return uctSearchWithExplorationThroughResultCache(state, explorationParameter);
+        startSearchWithExploration(explorationParameter);
+        MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(state, cloner);
+        searchBudget.addNodes(1);
+        searchTree(rootNode, searchRandom, numberOfIterations);
+        return finishSearch(rootNode);
+    }
+
+    private ActionT uctSearchWithExplorationThroughResultCache(StateT state, double explorationParameter) {
+        // a cached result with at least as many visits as the search would add is returned at once,
+        // otherwise root's children are seeded with the cached statistics
+        long stateHash = ((MctsHashableDomainState) state).getStateHash();
+        List<Object> searchSettings = getSearchSettingsOfResultCache();
+        MctsResultCache.CachedResult<ActionT> cachedResult =
+                resultCache.getCachedResult(stateHash, explorationParameter, searchSettings, numberOfIterations);
+        startSearchWithExploration(explorationParameter);
+        if (cachedResult != null && cachedResult.getNumberOfVisits() >= numberOfIterations)
+            return finishSearch(cachedResult.getSelectedAction(), cachedResult.getRootStatistics());
         MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(state, cloner);
-        for (int i = 0; i < numberOfIterations; i++) {
-            performMctsIteration(rootNode, state.getCurrentAgent());
+        searchBudget.addNodes(1);
+        if (cachedResult != null)
+            seedRootNode(rootNode, cachedResult.getRootStatistics());
+        searchTree(rootNode, searchRandom, numberOfIterations);
+        ActionT selectedAction = finishSearch(rootNode);
+        MctsRootStatistics<ActionT> rootStatistics = new MctsRootStatistics<>();
+        rootStatistics.addRootNodesChildren(rootNode);
+        resultCache.putCachedResult(stateHash, explorationParameter, searchSettings, selectedAction, rootStatistics);
+        return selectedAction;
+    }
+
+    List<Object> getSearchSettingsOfResultCache() {
+        // settings that change the result of a search, while the number of iterations is compared with the visits
+        // of a cached result instead, and settings set with parameters are kept as those, as lambdas created from
+        // the same parameters differ
+        return Arrays.asList(timeLimitNanos, nodeLimit, maximumNumberOfNodesInMemory, subtreeEvictionEnabled,
+                stateDroppingEnabled, earlyTerminationEnabled, progressiveWideningSetting, actionOrdering,
+                raveSetting, transpositionTable != null);
+    }
+
+    private void seedRootNode(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, MctsRootStatistics<ActionT> rootStatistics) {
+        // actions that aren't available are skipped, in case of a hash collision
+        List<ActionT> untriedActions = rootNode.getUntriedActionsForCurrentAgent();
+        int rootsVisitCount = 0;
+        for (ActionT action : rootStatistics.getActions()) {
+            MctsTreeNode<StateT, ActionT, AgentT> childNode;
+            if (action == null && untriedActions.isEmpty())
+                childNode = rootNode.addNewChildWithoutAction();
+            else if (action != null && untriedActions.contains(action))
+                childNode = rootNode.addNewChildFromAction(action);
+            else
+                continue;
+            childNode.setStatistics(rootStatistics.getVisitCount(action), rootStatistics.getTotalReward(action));
+            rootsVisitCount += rootStatistics.getVisitCount(action);
+            searchBudget.addNodes(1);
+        }
+        rootNode.setStatistics(rootsVisitCount, rootNode.getTotalReward());
+    }
+
+    public MctsSearchStats<ActionT> uctSearchWithExplorationAndStats(StateT state, double explorationParameter) {
+        // the listener is swapped only once the search is acquired, so a running search keeps its listener
+        acquireSearch();
+        MctsSearchListener<ActionT> registeredSearchListener = searchListener;
+        MctsSearchStatsCollector<ActionT> searchStatsCollector = new MctsSearchStatsCollector<>();
+        searchListener = searchStatsCollector;
+        try {
+            uctSearchWithExplorationOfAcquiredSearch(state, explorationParameter);
+            return searchStatsCollector.getSearchStats();
+        } finally {
+            searchListener = registeredSearchListener;
+            releaseSearch();
+        }
+    }
+
+    public ActionT arenaUctSearchWithExploration(StateT state, double explorationParameter) {
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter);
+            MctsTreeArena<StateT, ActionT, AgentT> arena = getTreeArenaResetWithRootState(state);
+            searchArena(arena, state.getCurrentAgent());
+            ActionT selectedAction = getArenasMostPromisingAction(arena);
+            commitSearchEvent(selectedAction);
+            if (searchListener != null)
+                notifySearchFinishedOnArena(arena, selectedAction);
+            return selectedAction;
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    public int intActionUctSearchWithExploration(StateT state, double explorationParameter) {
+        if (!(state instanceof MctsIntActionDomainState))
+            throw new IllegalArgumentException("Error: state must implement MctsIntActionDomainState");
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter);
+            MctsTreeArena<StateT, ActionT, AgentT> arena = getTreeArenaResetWithRootState(state);
+            searchArena(arena, state.getCurrentAgent());
+            int selectedAction = getArenasMostPromisingIntAction(arena);
+            commitSearchEvent(selectedAction);
+            if (searchListener != null)
+                notifySearchFinishedOnArena(arena, arena.getIncomingAction(getArenasMostPromisingChild(arena)));
+            return selectedAction;
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    public ActionT puctSearchWithExploration(StateT state, double explorationParameter) {
+        if (leafEvaluator == null)
+            throw new IllegalStateException("Error: leaf evaluator must be set before searching with it");
+        validateAgentsEquality(state.getCurrentAgent());
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter);
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(state, cloner);
+            searchBudget.addNodes(1);
+            int numberOfCompletedIterations;
+            while ((numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations()) < numberOfIterations
+                    && !searchBudget.isExhausted())
+                performBatchOfPuctIterations(rootNode, numberOfIterations - numberOfCompletedIterations);
+            MctsRootStatistics<ActionT> rootStatistics = new MctsRootStatistics<>();
+            rootStatistics.addRootNodesChildren(rootNode);
+            return finishSearch(getNodesMostVisitedAction(rootNode), rootStatistics);
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    private void searchArena(MctsTreeArena<StateT, ActionT, AgentT> arena, AgentT agentInvoking) {
+        searchBudget.addNodes(1);
+        SplittableRandom previousSearchRandom = MctsRandom.setCurrent(searchRandom);
+        try {
+            for (int i = 0; i < numberOfIterations && !searchBudget.isExhausted(i); i++) {
+                performMctsIterationOnArena(arena, agentInvoking);
+                searchBudget.addCompletedIteration();
+            }
+        } finally {
+            MctsRandom.setCurrent(previousSearchRandom);
+        }
+    }
+
+    private MctsTreeArena<StateT, ActionT, AgentT> getTreeArenaResetWithRootState(StateT state) {
+        if (treeArena == null)
+            treeArena = new MctsTreeArena<>(cloner);
+        treeArena.resetWithRootState(state);
+        return treeArena;
+    }
+
+    public MctsSearchSession<StateT, ActionT, AgentT> startSession(StateT state) {
+        MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(MctsTreeNode.copyOfState(state, cloner), cloner);
+        return new MctsSearchSession<>(this, rootNode);
+    }
+
+    public MctsSearchHandle<ActionT> uctSearchWithExplorationAsync(
+            StateT state, double explorationParameter, Executor executor) {
+        return startSession(state).uctSearchWithExplorationAsync(explorationParameter, executor);
+    }
+
+    public MctsSearchSession<StateT, ActionT, AgentT> startSessionFromTreeFile(
+            StateT state, Path path, MctsActionCodec<ActionT> actionCodec) throws IOException {
+        // the stored tree must have been exported from a session on the same state
+        MctsTreeNode<StateT, ActionT, AgentT> rootNode =
+                new MctsTreeNode<>(MctsTreeNode.copyOfState(state, cloner), cloner);
+        rootNode.restoreFromStoredTree(MctsTreeFile.open(path, actionCodec), MctsTreeFile.ROOT_NODE);
+        return new MctsSearchSession<>(this, rootNode);
+    }
+
+    ActionT uctSearchWithExplorationFromRootNode(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, double explorationParameter) {
+        return uctSearchWithExplorationFromRootNode(rootNode, explorationParameter, new AtomicBoolean(false));
+    }
+
+    ActionT uctSearchWithExplorationFromRootNode(MctsTreeNode<StateT, ActionT, AgentT> rootNode,
+                                                 double explorationParameter, AtomicBoolean stopFlag) {
+        return searchFromRootNode(rootNode, explorationParameter, numberOfIterations, stopFlag);
+    }
+
+    ActionT ponderWithExplorationFromRootNode(MctsTreeNode<StateT, ActionT, AgentT> rootNode,
+                                              double explorationParameter, AtomicBoolean stopFlag) {
+        // pondering isn't bounded by the number of iterations, only by the stop flag and the search limits
+        return searchFromRootNode(rootNode, explorationParameter, Integer.MAX_VALUE, stopFlag);
+    }
+
+    private ActionT searchFromRootNode(MctsTreeNode<StateT, ActionT, AgentT> rootNode, double explorationParameter,
+                                       int numberOfIterationsOfSearch, AtomicBoolean stopFlag) {
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter, stopFlag);
+            addNodesOfReusedTreeToBudget(rootNode);
+            searchTree(rootNode, searchRandom, numberOfIterationsOfSearch);
+            return finishSearch(rootNode);
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    MctsTreeNode<StateT, ActionT, AgentT> startSlicedSearch(StateT state, double explorationParameter) {
+        // a sliced search runs its iterations in several calls, which may be made by different threads,
+        // and holds the search until it is finished or aborted
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter);
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(state, cloner);
+            searchBudget.addNodes(1);
+            return rootNode;
+        } catch (RuntimeException | Error e) {
+            releaseSearch();
+            throw e;
+        }
+    }
+
+    int searchSlice(MctsTreeNode<StateT, ActionT, AgentT> rootNode, int numberOfIterationsOfSlice,
+                    int numberOfRemainingIterations) {
+        int numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations();
+        searchTree(rootNode, searchRandom, numberOfIterationsOfSlice, numberOfRemainingIterations);
+        return searchBudget.getNumberOfCompletedIterations() - numberOfCompletedIterations;
+    }
+
+    boolean isSlicedSearchStopped() {
+        return searchBudget.isExhausted() || searchBudget.getNumberOfSavedIterations() > 0;
+    }
+
+    ActionT finishSlicedSearch(MctsTreeNode<StateT, ActionT, AgentT> rootNode) {
+        try {
+            return finishSearch(rootNode);
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    void abortSlicedSearch() {
+        releaseSearch();
+    }
+
+    ActionT treeParallelUctSearchWithExplorationFromRootNode(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, double explorationParameter, int numberOfThreads) {
+        acquireSearch();
+        ForkJoinPool forkJoinPool = new ForkJoinPool(numberOfThreads);
+        try {
+            startSearchWithExploration(explorationParameter);
+            addNodesOfReusedTreeToBudget(rootNode);
+            searchSharedTree(rootNode, numberOfThreads, forkJoinPool);
+            return finishSearch(rootNode);
+        } finally {
+            forkJoinPool.shutdown();
+            releaseSearch();
+        }
+    }
+
+    private void addNodesOfReusedTreeToBudget(MctsTreeNode<StateT, ActionT, AgentT> rootNode) {
+        // counting nodes walks the whole tree, which is only necessary when their number is limited
+        if (nodeLimit != NO_NODE_LIMIT || maximumNumberOfNodesInMemory != NO_NODE_LIMIT)
+            searchBudget.addNodes(rootNode.getNumberOfNodesInSubtree());
+    }
+
+    private void searchTree(MctsTreeNode<StateT, ActionT, AgentT> rootNode, SplittableRandom treesRandom,
+                            int numberOfIterationsOfSearch) {
+        searchTree(rootNode, treesRandom, numberOfIterationsOfSearch, numberOfIterationsOfSearch);
+    }
+
+    private void searchTree(MctsTreeNode<StateT, ActionT, AgentT> rootNode, SplittableRandom treesRandom,
+                            int numberOfIterationsOfSearch, int numberOfRemainingIterations) {
+        AgentT agentInvoking = rootNode.getRepresentedStatesCurrentAgent();
+        if (raveSchedule != null)
+            validateAgentsEquality(agentInvoking);
+        SplittableRandom previousSearchRandom = MctsRandom.setCurrent(treesRandom);
+        try {
+            for (int i = 0; i < numberOfIterationsOfSearch && !searchBudget.isExhausted(i); i++) {
+                if (earlyTerminationEnabled && i % ITERATIONS_BETWEEN_EARLY_TERMINATION_CHECKS == 0
+                        && isRootsMostPromisingChildDecided(rootNode, numberOfRemainingIterations - i)) {
+                    searchBudget.setNumberOfSavedIterations(numberOfRemainingIterations - i);
+                    break;
+                }
+                performMctsIteration(rootNode, agentInvoking);
+                searchBudget.addCompletedIteration();
+            }
+        } finally {
+            MctsRandom.setCurrent(previousSearchRandom);
+        }
+    }
+
+    private boolean isRootsMostPromisingChildDecided(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, int numberOfRemainingIterations) {
+        // the most visited child can't be overtaken in visits by the remaining iterations,
+        // and it is the child whose action would be returned
+        MctsTreeNode<StateT, ActionT, AgentT> mostVisitedChild = null;
+        int secondHighestVisitCount = 0;
+        double highestValue = Double.NEGATIVE_INFINITY;
+        for (MctsTreeNode<StateT, ActionT, AgentT> childNode : rootNode.getChildNodes()) {
+            int visitCount = childNode.getVisitCount();
+            if (visitCount == 0)
+                continue;
+            if (mostVisitedChild == null || visitCount > mostVisitedChild.getVisitCount()) {
+                if (mostVisitedChild != null)
+                    secondHighestVisitCount = mostVisitedChild.getVisitCount();
+                mostVisitedChild = childNode;
+            } else {
+                secondHighestVisitCount = Math.max(secondHighestVisitCount, visitCount);
+            }
+            highestValue = Math.max(highestValue, getNodesDomainTheoreticValue(childNode));
+        }
+        return mostVisitedChild != null
+                && mostVisitedChild.getVisitCount() - secondHighestVisitCount > numberOfRemainingIterations
+                && getNodesDomainTheoreticValue(mostVisitedChild) >= highestValue;
+    }
+
+    public ActionT rootParallelUctSearchWithExploration(
+            StateT state, double explorationParameter, int numberOfThreads) {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(numberOfThreads);
+        try {
+            return rootParallelUctSearchWithExploration(state, explorationParameter, numberOfThreads, forkJoinPool);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    public ActionT rootParallelUctSearchWithExploration(
+            StateT state, double explorationParameter, int numberOfTrees, ExecutorService executor) {
+        validateNumberOfTrees(numberOfTrees);
+        if (raveSchedule != null)
+            validateAgentsEquality(state.getCurrentAgent());
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter);
+            List<Future<MctsTreeNode<StateT, ActionT, AgentT>>> searchedRootNodes = new ArrayList<>();
+            for (int i = 0; i < numberOfTrees; i++) {
+                // generators are split before submitting, so every tree of a seeded search is reproducible
+                searchedRootNodes.add(executor.submit(createIndependentTreeSearch(state, searchRandom.split())));
+            }
+            MctsRootStatistics<ActionT> mergedRootStatistics = new MctsRootStatistics<>();
+            MctsTreeNode<StateT, ActionT, AgentT> searchedRootNode = null;
+            for (MctsTreeNode<StateT, ActionT, AgentT> searchedTree : awaitParallelSearches(searchedRootNodes)) {
+                searchedRootNode = searchedTree;
+                mergedRootStatistics.addRootNodesChildren(searchedRootNode);
+            }
+            if (!mergedRootStatistics.hasVisitedAction())
+                return finishSearch(searchedRootNode);
+            return finishSearch(mergedRootStatistics.getMostPromisingAction(), mergedRootStatistics);
+        } finally {
+            releaseSearch();
+        }
+    }
+
+    private void validateNumberOfTrees(int numberOfTrees) {
+        if (numberOfTrees < 1)
+            throw new IllegalArgumentException("Error: number of trees must be positive");
+    }
+
+    private Callable<MctsTreeNode<StateT, ActionT, AgentT>> createIndependentTreeSearch(
+            StateT state, SplittableRandom treesRandom) {
+        return () -> {
+            Cloner treesCloner = createCloner();
+            StateT treesState = MctsTreeNode.copyOfState(state, treesCloner);
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(treesState, treesCloner);
+            searchBudget.addNodes(1);
+            searchTree(rootNode, treesRandom, numberOfIterations);
+            return rootNode;
+        };
+    }
+
+    private Cloner createCloner() {
+        Cloner treesCloner = new Cloner();
+        treesCloner.dontClone(classesNotToClone.toArray(new Class<?>[classesNotToClone.size()]));
+        return treesCloner;
+    }
+
+    public ActionT treeParallelUctSearchWithExploration(
+            StateT state, double explorationParameter, int numberOfThreads) {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(numberOfThreads);
+        try {
+            return treeParallelUctSearchWithExploration(state, explorationParameter, numberOfThreads, forkJoinPool);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    public ActionT treeParallelUctSearchWithExploration(
+            StateT state, double explorationParameter, int numberOfThreads, ExecutorService executor) {
+        acquireSearch();
+        try {
+            startSearchWithExploration(explorationParameter);
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode = new MctsTreeNode<>(state, cloner);
+            searchBudget.addNodes(1);
+            searchSharedTree(rootNode, numberOfThreads, executor);
+            return finishSearch(rootNode);
+        } finally {
+            releaseSearch();
         }
-        return getNodesMostPromisingAction(rootNode);
     }
 
-    private void setExplorationForSearch(double explorationParameter) {
+    void searchSharedTree(MctsTreeNode<StateT, ActionT, AgentT> rootNode, int numberOfThreads,
+                          ExecutorService executor) {
+        validateNumberOfThreads(numberOfThreads);
+        AgentT agentInvoking = rootNode.getRepresentedStatesCurrentAgent();
+        if (raveSchedule != null)
+            validateAgentsEquality(agentInvoking);
+        AtomicInteger startedIterations = new AtomicInteger();
+        List<Future<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < numberOfThreads; i++) {
+            SplittableRandom workersRandom = searchRandom.split();
+            workers.add(executor.submit(() -> {
+                SplittableRandom previousSearchRandom = MctsRandom.setCurrent(workersRandom);
+                try {
+                    int iteration;
+                    while ((iteration = startedIterations.getAndIncrement()) < numberOfIterations
+                            && !searchBudget.isExhausted(iteration)) {
+                        performMctsIterationOnSharedTree(rootNode, agentInvoking);
+                        searchBudget.addCompletedIteration();
+                    }
+                    return null;
+                } finally {
+                    MctsRandom.setCurrent(previousSearchRandom);
+                }
+            }));
+        }
+        awaitParallelSearches(workers);
+    }
+
+    private void validateAgentsEquality(AgentT agent) {
+        // RAVE and leaf values are attributed by comparing agents of different nodes with equals,
+        // so deep cloned agents must be equal to their originals
+        if (!classesNotToClone.contains(agent.getClass()) && !overridesEquals(agent.getClass()))
+            throw new IllegalArgumentException(
+                    "Error: agents must override equals() and hashCode() or be excluded from cloning");
+    }
+
+    private static boolean overridesEquals(Class<?> agentsClass) {
+        try {
+            return agentsClass.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void validateNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 1)
+            throw new IllegalArgumentException("Error: number of threads must be positive");
+    }
+
+    private <ResultT> List<ResultT> awaitParallelSearches(List<Future<ResultT>> parallelSearches) {
+        // a failure or an interrupt aborts the budget, and every search is awaited before throwing,
+        // so no thread keeps changing the tree or the budget after the search is released
+        List<ResultT> results = new ArrayList<>(parallelSearches.size());
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<ResultT> parallelSearch : parallelSearches) {
+            while (true) {
+                try {
+                    results.add(parallelSearch.get());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    searchBudget.abort();
+                } catch (ExecutionException e) {
+                    if (failure == null)
+                        failure = e.getCause();
+                    searchBudget.abort();
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Error: interrupted while waiting for parallel search", failure);
+        }
+        if (failure != null)
+            throw new IllegalStateException("Error: parallel search failed", failure);
+        return results;
+    }
+
+    private void acquireSearch() {
+        // searches keep their budget, random number generator and event in fields,
+        // so a second search of the same instance would corrupt the running one
+        if (!searchRunning.compareAndSet(false, true))
+            throw new IllegalStateException("Error: another search of this mcts is running");
+    }
+
+    private void releaseSearch() {
+        searchRunning.set(false);
+    }
+
+    void startSearchWithExploration(double explorationParameter) {
+        startSearchWithExploration(explorationParameter, new AtomicBoolean(false));
+    }
+
+    private void startSearchWithExploration(double explorationParameter, AtomicBoolean stopFlag) {
+        // unlike the cancellation flag, the stop flag belongs to a single search
         this.explorationParameter = explorationParameter;
+        this.searchBudget = createSearchBudget(stopFlag);
+        this.searchRandom = seeded ? new SplittableRandom(seed) : new SplittableRandom();
+        this.searchEvent = MctsFlightRecorder.beginSearchEvent();
+        if (searchListener != null)
+            searchListener.searchStarted();
+    }
+
+    private MctsSearchBudget createSearchBudget(AtomicBoolean stopFlag) {
+        return new MctsSearchBudget(timeLimitNanos, nodeLimit, cancellationFlag, stopFlag);
+    }
+
+    private ActionT finishSearch(MctsTreeNode<StateT, ActionT, AgentT> rootNode) {
+        ActionT selectedAction = getNodesMostPromisingAction(rootNode);
+        commitSearchEvent(selectedAction);
+        if (searchListener != null) {
+            MctsRootStatistics<ActionT> rootStatistics = new MctsRootStatistics<>();
+            rootStatistics.addRootNodesChildren(rootNode);
+            searchListener.searchFinished(selectedAction, getRootChildVisitCounts(rootStatistics));
+        }
+        return selectedAction;
+    }
+
+    private ActionT finishSearch(ActionT selectedAction, MctsRootStatistics<ActionT> rootStatistics) {
+        commitSearchEvent(selectedAction);
+        if (searchListener != null)
+            searchListener.searchFinished(selectedAction, getRootChildVisitCounts(rootStatistics));
+        return selectedAction;
+    }
+
+    private void notifySearchFinishedOnArena(MctsTreeArena<StateT, ActionT, AgentT> arena, ActionT selectedAction) {
+        MctsRootStatistics<ActionT> rootStatistics = new MctsRootStatistics<>();
+        int firstChild = arena.getFirstChildIndex(MctsTreeArena.ROOT_NODE);
+        int lastChild = firstChild + arena.getNumberOfExpandedChildren(MctsTreeArena.ROOT_NODE);
+        for (int child = firstChild; child < lastChild; child++) {
+            rootStatistics.addActionStatistics(
+                    arena.getIncomingAction(child), arena.getVisitCount(child), arena.getTotalReward(child));
+        }
+        searchListener.searchFinished(selectedAction, getRootChildVisitCounts(rootStatistics));
+    }
+
+    private void commitSearchEvent(Object selectedAction) {
+        MctsFlightRecorder.commitSearchEvent(searchEvent, searchBudget.getNumberOfCompletedIterations(),
+                searchBudget.getNumberOfSavedIterations(), searchBudget.getNumberOfNodes(), selectedAction,
+                explorationParameter);
+    }
+
+    private Map<ActionT, Integer> getRootChildVisitCounts(MctsRootStatistics<ActionT> rootStatistics) {
+        Map<ActionT, Integer> rootChildVisitCounts = new LinkedHashMap<>();
+        for (ActionT action : rootStatistics.getActions()) {
+            rootChildVisitCounts.put(action, rootStatistics.getVisitCount(action));
+        }
+        return rootChildVisitCounts;
+    }
+
+    private boolean isIterationRecorded() {
+        return searchBudget.getNumberOfCompletedIterations() % ITERATIONS_BETWEEN_RECORDED_ITERATIONS == 0
+                && MctsFlightRecorder.isIterationRecorded();
+    }
+
+    private long nanoTimeIfInstrumented(boolean instrumented) {
+        // timestamps are only taken for a registered listener or a recorded iteration
+        return instrumented ? System.nanoTime() : 0;
+    }
+
+    private void completeInstrumentedIteration(MctsSearchListener<ActionT> listener, boolean iterationRecorded,
+                                               int selectionDepth, int numberOfCreatedNodes, StateT simulatedState,
+                                               long selectionStart, long expansionStart, long simulationStart,
+                                               long backPropagationStart) {
+        long iterationEnd = System.nanoTime();
+        if (listener != null) {
+            int numberOfRolloutCopies = simulatedState instanceof MctsReusableDomainState ? 0 : 1;
+            listener.iterationCompleted(selectionDepth, numberOfCreatedNodes,
+                    numberOfCreatedNodes + numberOfRolloutCopies, expansionStart - selectionStart,
+                    simulationStart - expansionStart, backPropagationStart - simulationStart,
+                    iterationEnd - backPropagationStart);
+        }
+        if (iterationRecorded) {
+            MctsFlightRecorder.commitIterationEvent(selectionDepth, numberOfCreatedNodes,
+                    expansionStart - selectionStart, simulationStart - expansionStart,
+                    backPropagationStart - simulationStart, iterationEnd - backPropagationStart);
+        }
     }
 
     private void performMctsIteration(MctsTreeNode<StateT, ActionT, AgentT> rootNode, AgentT agentInvoking) {
-        MctsTreeNode<StateT, ActionT, AgentT> selectedChildNode = treePolicy(rootNode);
-        StateT terminalState = getTerminalStateFromDefaultPolicy(selectedChildNode, agentInvoking);
+        MctsSearchListener<ActionT> listener = searchListener;
+        boolean iterationRecorded = isIterationRecorded();
+        boolean instrumented = listener != null || iterationRecorded;
+        long selectionStart = nanoTimeIfInstrumented(instrumented);
+        MctsTreeNode<StateT, ActionT, AgentT> nodeToExpand = getNodeToExpand(rootNode);
+        long expansionStart = nanoTimeIfInstrumented(instrumented);
+        MctsTreeNode<StateT, ActionT, AgentT> selectedChildNode = expandNode(rootNode, nodeToExpand);
+        long simulationStart = nanoTimeIfInstrumented(instrumented);
+        MctsRolloutTrace<ActionT, AgentT> rolloutTrace = getClearedRolloutTraceIfRaveEnabled();
+        StateT terminalState = getTerminalStateFromDefaultPolicy(selectedChildNode, agentInvoking, rolloutTrace);
+        long backPropagationStart = nanoTimeIfInstrumented(instrumented);
         backPropagate(selectedChildNode, terminalState);
+        if (rolloutTrace != null)
+            backPropagateAmafValues(selectedChildNode, terminalState, rolloutTrace);
+        // root always holds its state, while the selected node's state may have been dropped
+        if (instrumented)
+            completeInstrumentedIteration(listener, iterationRecorded, getNodesDepth(selectedChildNode),
+                    selectedChildNode == nodeToExpand ? 0 : 1, rootNode.getRepresentedState(),
+                    selectionStart, expansionStart, simulationStart, backPropagationStart);
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> getNodeToExpand(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        while (!node.representsTerminalState() && node.representedStatesCurrentAgentHasAvailableActions()
+                && !isNodeExpandable(node)) {
+            node = getNodesBestChild(node);
+        }
+        return node;
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> expandNode(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, MctsTreeNode<StateT, ActionT, AgentT> node) {
+        // without room for a new node the simulation starts from the selected node itself
+        if (node.representsTerminalState() || !hasRoomForNewNode(rootNode, node))
+            return node;
+        else if (!node.representedStatesCurrentAgentHasAvailableActions())
+            return expandWithoutAction(node);
+        MctsTreeNode<StateT, ActionT, AgentT> childNode = expandWithAction(node);
+        if (stateDroppingEnabled && node.isFullyExpanded() && node.getParentNode() != null)
+            node.dropRepresentedState();
+        return childNode;
+    }
+
+    private boolean hasRoomForNewNode(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, MctsTreeNode<StateT, ActionT, AgentT> nodeToExpand) {
+        if (searchBudget.getNumberOfNodes() < maximumNumberOfNodesInMemory)
+            return true;
+        if (subtreeEvictionEnabled) {
+            int numberOfNodesToEvict =
+                    Math.max(1, (int) (maximumNumberOfNodesInMemory * EVICTED_FRACTION_OF_MEMORY_BOUND));
+            int numberOfEvictedNodes =
+                    MctsSubtreeEviction.evictLeastVisitedSubtrees(rootNode, nodeToExpand, numberOfNodesToEvict);
+            searchBudget.addNodes(-numberOfEvictedNodes);
+        }
+        return searchBudget.getNumberOfNodes() < maximumNumberOfNodesInMemory;
+    }
+
+    private int getNodesDepth(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        int depth = 0;
+        for (node = node.getParentNode(); node != null; node = node.getParentNode()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private void performMctsIterationOnSharedTree(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, AgentT agentInvoking) {
+        MctsSearchListener<ActionT> listener = searchListener;
+        boolean iterationRecorded = isIterationRecorded();
+        boolean instrumented = listener != null || iterationRecorded;
+        long selectionStart = nanoTimeIfInstrumented(instrumented);
+        MctsTreeNode<StateT, ActionT, AgentT> nodeToExpand = rootNode;
+        MctsTreeNode<StateT, ActionT, AgentT> selectedChildNode;
+        long expansionStart;
+        do {
+            nodeToExpand = getSharedNodeToExpand(nodeToExpand);
+            expansionStart = nanoTimeIfInstrumented(instrumented);
+            selectedChildNode = expandSharedNodeIfNotFullyExpanded(nodeToExpand);
+        } while (selectedChildNode == null);
+        addVirtualLossToPath(selectedChildNode);
+        long simulationStart = nanoTimeIfInstrumented(instrumented);
+        MctsRolloutTrace<ActionT, AgentT> rolloutTrace = getClearedRolloutTraceIfRaveEnabled();
+        StateT terminalState = getTerminalStateFromDefaultPolicy(selectedChildNode, agentInvoking, rolloutTrace);
+        long backPropagationStart = nanoTimeIfInstrumented(instrumented);
+        backPropagateRevertingVirtualLoss(selectedChildNode, terminalState);
+        if (rolloutTrace != null)
+            backPropagateAmafValues(selectedChildNode, terminalState, rolloutTrace);
+        if (instrumented)
+            completeInstrumentedIteration(listener, iterationRecorded, getNodesDepth(selectedChildNode),
+                    selectedChildNode == nodeToExpand ? 0 : 1, selectedChildNode.getRepresentedState(),
+                    selectionStart, expansionStart, simulationStart, backPropagationStart);
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> getSharedNodeToExpand(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        // child nodes are only ever added, so a fully expanded node can be detected without locking
+        while (!node.representsTerminalState() && node.representedStatesCurrentAgentHasAvailableActions()
+                && !isNodeExpandable(node)) {
+            node = getSharedNodesBestChild(node);
+        }
+        return node;
     }
 
-    private MctsTreeNode<StateT, ActionT, AgentT> treePolicy(MctsTreeNode<StateT, ActionT, AgentT> node) {
-        while (!node.representsTerminalState()) {
+    private MctsTreeNode<StateT, ActionT, AgentT> expandSharedNodeIfNotFullyExpanded(
+            MctsTreeNode<StateT, ActionT, AgentT> node) {
+        // returns null if another thread expanded the last untried action first, so selection continues
+        if (node.representsTerminalState() || searchBudget.getNumberOfNodes() >= maximumNumberOfNodesInMemory)
+            return node;
+        synchronized (node) {
             if (!node.representedStatesCurrentAgentHasAvailableActions())
                 return expandWithoutAction(node);
-            else if (!node.isFullyExpanded())
+            else if (isNodeExpandable(node))
                 return expandWithAction(node);
             else
-                node = getNodesBestChild(node);
+                return null;
+        }
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> getSharedNodesBestChild(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        double twoLogsOfParentsVisitCount = 2 * logOfVisitCount(node.getVisitCount());
+        MctsTreeNode<StateT, ActionT, AgentT> bestChild = null;
+        double bestUctValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0, numberOfChildNodes = node.getNumberOfChildNodes(); i < numberOfChildNodes; i++) {
+            MctsTreeNode<StateT, ActionT, AgentT> childNode = node.getChildNode(i);
+            int childsVisitCount = childNode.getVisitCount();
+            // a child expanded by another thread is selected before its first backpropagation
+            if (childsVisitCount == 0)
+                return childNode;
+            double uctValue = getValueBlendedWithAmafValue(childNode, getNodesDomainTheoreticValue(childNode))
+                    + explorationParameter * Math.sqrt(twoLogsOfParentsVisitCount / childsVisitCount);
+            if (uctValue > bestUctValue) {
+                bestUctValue = uctValue;
+                bestChild = childNode;
+            }
+        }
+        return bestChild;
+    }
+
+    private void addVirtualLossToPath(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        while (node != null) {
+            node.addVirtualLoss(virtualLoss);
+            node = node.getParentNode();
+        }
+    }
+
+    private void backPropagateRevertingVirtualLoss(MctsTreeNode<StateT, ActionT, AgentT> node, StateT terminalState) {
+        while (node != null) {
+            AgentT parentsStatesCurrentAgent = node.getRepresentedStatesPreviousAgent();
+            double reward = parentsStatesCurrentAgent.getRewardFromTerminalState(terminalState);
+            node.updateDomainTheoreticValueRevertingVirtualLoss(reward, virtualLoss);
+            updateTranspositionTable(node, reward);
+            node = node.getParentNode();
+        }
+    }
+
+    private void performMctsIterationOnArena(MctsTreeArena<StateT, ActionT, AgentT> arena, AgentT agentInvoking) {
+        MctsSearchListener<ActionT> listener = searchListener;
+        boolean iterationRecorded = isIterationRecorded();
+        boolean instrumented = listener != null || iterationRecorded;
+        long selectionStart = nanoTimeIfInstrumented(instrumented);
+        int nodeToExpand = getArenaNodeToExpand(arena);
+        long expansionStart = nanoTimeIfInstrumented(instrumented);
+        int selectedNode = expandArenaNode(arena, nodeToExpand);
+        long simulationStart = nanoTimeIfInstrumented(instrumented);
+        StateT terminalState = getTerminalStateFromDefaultPolicy(
+                arena.getRepresentedState(selectedNode), cloner, agentInvoking);
+        long backPropagationStart = nanoTimeIfInstrumented(instrumented);
+        backPropagateOnArena(arena, selectedNode, terminalState);
+        if (instrumented)
+            completeInstrumentedIteration(listener, iterationRecorded, getArenaNodesDepth(arena, selectedNode),
+                    selectedNode == nodeToExpand ? 0 : 1, arena.getRepresentedState(selectedNode),
+                    selectionStart, expansionStart, simulationStart, backPropagationStart);
+    }
+
+    private int getArenaNodeToExpand(MctsTreeArena<StateT, ActionT, AgentT> arena) {
+        int node = MctsTreeArena.ROOT_NODE;
+        while (!arena.representsTerminalState(node) && !isArenaNodeExpandable(arena, node)) {
+            node = getArenaNodesBestChild(arena, node, explorationParameter);
+        }
+        return node;
+    }
+
+    private int expandArenaNode(MctsTreeArena<StateT, ActionT, AgentT> arena, int node) {
+        if (arena.representsTerminalState(node) || searchBudget.getNumberOfNodes() >= maximumNumberOfNodesInMemory)
+            return node;
+        searchBudget.addNodes(1);
+        return arena.expandWithRandomUntriedChild(node, MctsRandom.current());
+    }
+
+    private int getArenaNodesDepth(MctsTreeArena<StateT, ActionT, AgentT> arena, int node) {
+        int depth = 0;
+        for (node = arena.getParentIndex(node); node != MctsTreeArena.NO_NODE; node = arena.getParentIndex(node)) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private int getArenaNodesBestChild(
+            MctsTreeArena<StateT, ActionT, AgentT> arena, int node, double explorationParameter) {
+        double twoLogsOfParentsVisitCount = 2 * logOfVisitCount(arena.getVisitCount(node));
+        int firstChild = arena.getFirstChildIndex(node);
+        int lastChild = firstChild + arena.getNumberOfExpandedChildren(node);
+        int bestChild = MctsTreeArena.NO_NODE;
+        double bestUctValue = Double.NEGATIVE_INFINITY;
+        for (int child = firstChild; child < lastChild; child++) {
+            int childsVisitCount = arena.getVisitCount(child);
+            double uctValue = arena.getTotalReward(child) / childsVisitCount
+                    + explorationParameter * Math.sqrt(twoLogsOfParentsVisitCount / childsVisitCount);
+            if (uctValue > bestUctValue) {
+                bestUctValue = uctValue;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+
+    private void backPropagateOnArena(MctsTreeArena<StateT, ActionT, AgentT> arena, int node, StateT terminalState) {
+        while (node != MctsTreeArena.NO_NODE) {
+            AgentT parentsStatesCurrentAgent = arena.getRepresentedState(node).getPreviousAgent();
+            double reward = parentsStatesCurrentAgent.getRewardFromTerminalState(terminalState);
+            arena.updateDomainTheoreticValue(node, reward);
+            node = arena.getParentIndex(node);
+        }
+    }
+
+    private ActionT getArenasMostPromisingAction(MctsTreeArena<StateT, ActionT, AgentT> arena) {
+        int mostPromisingChild = getArenasMostPromisingChild(arena);
+        if (mostPromisingChild == MctsTreeArena.NO_NODE)
+            return getActionWithoutSearchStatistics(arena.getRepresentedState(MctsTreeArena.ROOT_NODE));
+        return arena.getIncomingAction(mostPromisingChild);
+    }
+
+    private int getArenasMostPromisingIntAction(MctsTreeArena<StateT, ActionT, AgentT> arena) {
+        int mostPromisingChild = getArenasMostPromisingChild(arena);
+        if (mostPromisingChild == MctsTreeArena.NO_NODE)
+            return getIntActionWithoutSearchStatistics(
+                    (MctsIntActionDomainState) arena.getRepresentedState(MctsTreeArena.ROOT_NODE));
+        return arena.getIncomingIntAction(mostPromisingChild);
+    }
+
+    private int getArenasMostPromisingChild(MctsTreeArena<StateT, ActionT, AgentT> arena) {
+        if (arena.getFirstChildIndex(MctsTreeArena.ROOT_NODE) == MctsTreeArena.NO_NODE)
+            return MctsTreeArena.NO_NODE;
+        return getArenaNodesBestChild(arena, MctsTreeArena.ROOT_NODE, NO_EXPLORATION);
+    }
+
+    private void performBatchOfPuctIterations(
+            MctsTreeNode<StateT, ActionT, AgentT> rootNode, int numberOfRemainingIterations) {
+        // leaves are selected under virtual loss, which steers later selections of a batch to other leaves,
+        // and a batch is closed early once a pending leaf is selected again
+        int batchSize = Math.min(leafEvaluationBatchSize, numberOfRemainingIterations);
+        List<MctsTreeNode<StateT, ActionT, AgentT>> pendingLeaves = new ArrayList<>(batchSize);
+        Set<MctsTreeNode<StateT, ActionT, AgentT>> pendingLeavesSet = new HashSet<>();
+        for (int i = 0; i < batchSize; i++) {
+            MctsTreeNode<StateT, ActionT, AgentT> leaf = getPuctLeaf(rootNode);
+            if (leaf.representsTerminalState()) {
+                backPropagateRevertingVirtualLoss(leaf, leaf.getRepresentedState());
+                searchBudget.addCompletedIteration();
+            } else if (pendingLeavesSet.add(leaf)) {
+                pendingLeaves.add(leaf);
+            } else {
+                revertVirtualLossOnPath(leaf);
+                break;
+            }
         }
+        if (!pendingLeaves.isEmpty())
+            evaluateAndExpandPendingLeaves(pendingLeaves);
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> getPuctLeaf(MctsTreeNode<StateT, ActionT, AgentT> rootNode) {
+        // children are added all at once when a leaf is evaluated, so a node without them is a leaf
+        MctsTreeNode<StateT, ActionT, AgentT> node = rootNode;
+        while (!node.representsTerminalState() && node.getNumberOfChildNodes() > 0)
+            node = getNodesBestPuctChild(node);
+        addVirtualLossToPath(node);
         return node;
     }
 
+    private MctsTreeNode<StateT, ActionT, AgentT> getNodesBestPuctChild(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        double explorationNumerator = explorationParameter * Math.sqrt(node.getVisitCount());
+        MctsTreeNode<StateT, ActionT, AgentT> bestChild = null;
+        double bestPuctValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0, numberOfChildNodes = node.getNumberOfChildNodes(); i < numberOfChildNodes; i++) {
+            MctsTreeNode<StateT, ActionT, AgentT> childNode = node.getChildNode(i);
+            int childsVisitCount = childNode.getVisitCount();
+            double childsValue = childsVisitCount == 0 ? 0 : childNode.getTotalReward() / childsVisitCount;
+            double puctValue = childsValue
+                    + explorationNumerator * childNode.getPriorProbability() / (1 + childsVisitCount);
+            if (puctValue > bestPuctValue) {
+                bestPuctValue = puctValue;
+                bestChild = childNode;
+            }
+        }
+        return bestChild;
+    }
+
+    private void revertVirtualLossOnPath(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        while (node != null) {
+            node.revertVirtualLoss(virtualLoss);
+            node = node.getParentNode();
+        }
+    }
+
+    private void evaluateAndExpandPendingLeaves(List<MctsTreeNode<StateT, ActionT, AgentT>> pendingLeaves) {
+        List<StateT> leafStates = new ArrayList<>(pendingLeaves.size());
+        for (MctsTreeNode<StateT, ActionT, AgentT> leaf : pendingLeaves)
+            leafStates.add(leaf.getRepresentedState());
+        List<MctsLeafEvaluation<ActionT>> leafEvaluations = leafEvaluator.evaluateLeafStates(leafStates);
+        if (leafEvaluations.size() != pendingLeaves.size())
+            throw new IllegalStateException("Error: leaf evaluator must return an evaluation for every leaf state");
+        for (int i = 0; i < pendingLeaves.size(); i++) {
+            MctsTreeNode<StateT, ActionT, AgentT> leaf = pendingLeaves.get(i);
+            MctsLeafEvaluation<ActionT> leafEvaluation = leafEvaluations.get(i);
+            expandWithActionPriors(leaf, leafEvaluation);
+            backPropagateLeafValueRevertingVirtualLoss(
+                    leaf, leaf.getRepresentedStatesCurrentAgent(), leafEvaluation.getValue());
+            searchBudget.addCompletedIteration();
+        }
+    }
+
+    private void expandWithActionPriors(
+            MctsTreeNode<StateT, ActionT, AgentT> leaf, MctsLeafEvaluation<ActionT> leafEvaluation) {
+        // children are created all at once, so a leaf whose children don't fit within the memory bound stays a
+        // leaf, and its evaluation is only backpropagated
+        if (!hasRoomForChildNodesOfLeaf(leaf))
+            return;
+        if (!leaf.representedStatesCurrentAgentHasAvailableActions()) {
+            leaf.addNewChildWithoutAction().setPriorProbability(1);
+            searchBudget.addNodes(1);
+            return;
+        }
+        List<MctsTreeNode<StateT, ActionT, AgentT>> childNodes = leaf.addNewChildrenFromAllUntriedActions();
+        double sumOfActionPriors = 0;
+        if (leafEvaluation.hasActionPriors()) {
+            for (MctsTreeNode<StateT, ActionT, AgentT> childNode : childNodes)
+                sumOfActionPriors += leafEvaluation.getActionPrior(childNode.getIncomingAction());
+        }
+        // priors are normalized over available actions, and uniform if none of them has a prior
+        for (MctsTreeNode<StateT, ActionT, AgentT> childNode : childNodes) {
+            childNode.setPriorProbability(sumOfActionPriors > 0
+                    ? leafEvaluation.getActionPrior(childNode.getIncomingAction()) / sumOfActionPriors
+                    : 1.0 / childNodes.size());
+        }
+        searchBudget.addNodes(childNodes.size());
+    }
+
+    private boolean hasRoomForChildNodesOfLeaf(MctsTreeNode<StateT, ActionT, AgentT> leaf) {
+        if (maximumNumberOfNodesInMemory == NO_NODE_LIMIT)
+            return true;
+        int numberOfChildNodes = leaf.representedStatesCurrentAgentHasAvailableActions()
+                ? leaf.getNumberOfUntriedActions() : 1;
+        return numberOfChildNodes <= maximumNumberOfNodesInMemory - searchBudget.getNumberOfNodes();
+    }
+
+    private void backPropagateLeafValueRevertingVirtualLoss(
+            MctsTreeNode<StateT, ActionT, AgentT> node, AgentT leafsCurrentAgent, double leafValue) {
+        while (node != null) {
+            double reward = Objects.equals(leafsCurrentAgent, node.getRepresentedStatesPreviousAgent())
+                    ? leafValue : 1 - leafValue;
+            node.updateDomainTheoreticValueRevertingVirtualLoss(reward, virtualLoss);
+            updateTranspositionTable(node, reward);
+            node = node.getParentNode();
+        }
+    }
 
     private MctsTreeNode<StateT, ActionT, AgentT> expandWithoutAction(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        searchBudget.addNodes(1);
         return node.addNewChildWithoutAction();
     }
 
     private MctsTreeNode<StateT, ActionT, AgentT> expandWithAction(MctsTreeNode<StateT, ActionT, AgentT> node) {
-        ActionT randomUntriedAction = getRandomActionFromNodesUntriedActions(node);
-        return node.addNewChildFromAction(randomUntriedAction);
+        searchBudget.addNodes(1);
+        if (actionOrdering != null)
+            return node.addNewChildFromOrderedUntriedAction(actionOrdering);
+        else
+            return node.addNewChildFromRandomUntriedAction(MctsRandom.current());
+    }
+
+    private boolean isNodeExpandable(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        // with progressive widening the number of children grows with the number of visits,
+        // so selection descends below a node before all of its actions are tried
+        return !node.isFullyExpanded() && (progressiveWidening == null
+                || node.getNumberOfChildNodes() < getMaximumNumberOfChildNodes(node.getVisitCount()));
+    }
+
+    private boolean isArenaNodeExpandable(MctsTreeArena<StateT, ActionT, AgentT> arena, int node) {
+        return !arena.isFullyExpanded(node) && (progressiveWidening == null
+                || arena.getNumberOfExpandedChildren(node) < getMaximumNumberOfChildNodes(arena.getVisitCount(node)));
+    }
+
+    private int getMaximumNumberOfChildNodes(int visitCount) {
+        return Math.max(1, progressiveWidening.applyAsInt(visitCount));
     }
 
-    private ActionT getRandomActionFromNodesUntriedActions(MctsTreeNode<StateT, ActionT, AgentT> node) {
-        List<ActionT> untriedActions = node.getUntriedActionsForCurrentAgent();
-        Collections.shuffle(untriedActions);
-        return untriedActions.get(0);
+    MctsTreeNode<StateT, ActionT, AgentT> getNodesBestChild(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        double twoLogsOfParentsVisitCount = 2 * logOfVisitCount(node.getVisitCount());
+        MctsTreeNode<StateT, ActionT, AgentT> bestChild = null;
+        double bestUctValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0, numberOfChildNodes = node.getNumberOfChildNodes(); i < numberOfChildNodes; i++) {
+            MctsTreeNode<StateT, ActionT, AgentT> childNode = node.getChildNode(i);
+            int childsVisitCount = childNode.getVisitCount();
+            if (childsVisitCount == 0)
+                throw new UnsupportedOperationException(
+                        "Error: operation not supported if node contains an unvisited child");
+            double uctValue = getValueBlendedWithAmafValue(childNode, getNodesDomainTheoreticValue(childNode))
+                    + explorationParameter * Math.sqrt(twoLogsOfParentsVisitCount / childsVisitCount);
+            if (uctValue > bestUctValue) {
+                bestUctValue = uctValue;
+                bestChild = childNode;
+            }
+        }
+        return bestChild;
     }
 
-    private MctsTreeNode<StateT, ActionT, AgentT> getNodesBestChild(MctsTreeNode<StateT, ActionT, AgentT> node) {
-        validateBestChildComputable(node);
-        return getNodesBestChildConfidentlyWithExploration(node, explorationParameter);
+    private double getValueBlendedWithAmafValue(MctsTreeNode<StateT, ActionT, AgentT> node, double value) {
+        int amafVisitCount = node.getAmafVisitCount();
+        if (raveSchedule == null || amafVisitCount == 0)
+            return value;
+        double amafWeight = raveSchedule.getAmafWeight(node.getVisitCount(), amafVisitCount);
+        return (1 - amafWeight) * value + amafWeight * node.getAmafValue();
     }
 
-    private void validateBestChildComputable(MctsTreeNode<StateT, ActionT, AgentT> node) {
-        if (!node.hasChildNodes())
-            throw new UnsupportedOperationException("Error: operation not supported if child nodes empty");
-        else if (!node.isFullyExpanded())
-            throw new UnsupportedOperationException("Error: operation not supported if node not fully expanded");
-        else if (node.hasUnvisitedChild())
-            throw new UnsupportedOperationException(
-                    "Error: operation not supported if node contains an unvisited child");
+    private static double logOfVisitCount(int visitCount) {
+        return visitCount < LOG_TABLE_SIZE ? LOG_TABLE[visitCount] : Math.log(visitCount);
+    }
+
+    private static double[] createLogTable() {
+        double[] logTable = new double[LOG_TABLE_SIZE];
+        for (int visitCount = 0; visitCount < LOG_TABLE_SIZE; visitCount++) {
+            logTable[visitCount] = Math.log(Math.max(1, visitCount));
+        }
+        return logTable;
     }
 
     private ActionT getNodesMostPromisingAction(MctsTreeNode<StateT, ActionT, AgentT> node) {
-        validateBestChildComputable(node);
-        MctsTreeNode<StateT, ActionT, AgentT> bestChildWithoutExploration =
-                getNodesBestChildConfidentlyWithExploration(node, NO_EXPLORATION);
-        return bestChildWithoutExploration.getIncomingAction();
+        MctsTreeNode<StateT, ActionT, AgentT> bestVisitedChild = null;
+        for (MctsTreeNode<StateT, ActionT, AgentT> childNode : node.getChildNodes()) {
+            if (childNode.getVisitCount() > 0 && (bestVisitedChild == null
+                    || getNodesDomainTheoreticValue(childNode) > getNodesDomainTheoreticValue(bestVisitedChild)))
+                bestVisitedChild = childNode;
+        }
+        if (bestVisitedChild != null)
+            return bestVisitedChild.getIncomingAction();
+        else
+            return getActionWithoutSearchStatistics(node.getRepresentedState());
+    }
+
+    private ActionT getNodesMostVisitedAction(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        MctsTreeNode<StateT, ActionT, AgentT> mostVisitedChild = null;
+        for (MctsTreeNode<StateT, ActionT, AgentT> childNode : node.getChildNodes()) {
+            if (childNode.getVisitCount() > 0 && (mostVisitedChild == null
+                    || childNode.getVisitCount() > mostVisitedChild.getVisitCount()))
+                mostVisitedChild = childNode;
+        }
+        if (mostVisitedChild != null)
+            return mostVisitedChild.getIncomingAction();
+        else
+            return getActionWithoutSearchStatistics(node.getRepresentedState());
+    }
+
+    private ActionT getActionWithoutSearchStatistics(StateT state) {
+        // search was stopped before any of root's children was visited
+        if (state.getNumberOfAvailableActionsForCurrentAgent() == 0)
+            return null;
+        List<ActionT> availableActions = state.getAvailableActionsForCurrentAgent();
+        return availableActions.get(searchRandom.nextInt(availableActions.size()));
     }
 
-    private MctsTreeNode<StateT, ActionT, AgentT> getNodesBestChildConfidentlyWithExploration(
-            MctsTreeNode<StateT, ActionT, AgentT> node, double explorationParameter) {
-        return node.getChildNodes().stream()
-                .max((node1, node2) -> Double.compare(
-                        calculateUctValue(node1, explorationParameter),
-                        calculateUctValue(node2, explorationParameter))).get();
+    private int getIntActionWithoutSearchStatistics(MctsIntActionDomainState state) {
+        int[] availableActions = new int[state.getMaximumNumberOfAvailableActions()];
+        int numberOfAvailableActions = state.getAvailableActionsForCurrentAgent(availableActions);
+        if (numberOfAvailableActions == 0)
+            return MctsIntActionDomainState.NO_ACTION;
+        return availableActions[searchRandom.nextInt(numberOfAvailableActions)];
     }
 
-    private double calculateUctValue(MctsTreeNode<StateT, ActionT, AgentT> node, double explorationParameter) {
-        return node.getDomainTheoreticValue()
-                + explorationParameter
-                * (Math.sqrt((2 * Math.log(node.getParentsVisitCount())) / node.getVisitCount()));
+    private double getNodesDomainTheoreticValue(MctsTreeNode<StateT, ActionT, AgentT> node) {
+        // with transpositions the value is shared by all nodes representing the same state,
+        // while exploration keeps using visit counts of the node itself
+        if (transpositionTable != null && node.representsHashableState())
+            return transpositionTable.getDomainTheoreticValue(
+                    node.getRepresentedStatesHash(), node.getDomainTheoreticValue());
+        else
+            return node.getDomainTheoreticValue();
     }
 
-    private StateT getTerminalStateFromDefaultPolicy(
-            MctsTreeNode<StateT, ActionT, AgentT> node, AgentT agentInvoking) {
-        StateT nodesStateClone = node.getDeepCloneOfRepresentedState();
-        return agentInvoking.getTerminalStateByPerformingSimulationFromState(nodesStateClone);
+    private MctsRolloutTrace<ActionT, AgentT> getClearedRolloutTraceIfRaveEnabled() {
+        if (raveSchedule == null)
+            return null;
+        MctsRolloutTrace<ActionT, AgentT> rolloutTrace = rolloutTraces.get();
+        rolloutTrace.clear();
+        return rolloutTrace;
+    }
+
+    private StateT getTerminalStateFromDefaultPolicy(MctsTreeNode<StateT, ActionT, AgentT> node, AgentT agentInvoking,
+                                                     MctsRolloutTrace<ActionT, AgentT> rolloutTrace) {
+        StateT stateClone = getRolloutStateFromState(node.getRepresentedState(), node.getCloner());
+        if (rolloutTrace != null && agentInvoking instanceof MctsTracingDomainAgent)
+            return getTerminalStateFromTracedDefaultPolicy(stateClone, agentInvoking, rolloutTrace);
+        return agentInvoking.getTerminalStateByPerformingSimulationFromState(stateClone);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StateT getTerminalStateFromTracedDefaultPolicy(
+            StateT state, AgentT agentInvoking, MctsRolloutTrace<ActionT, AgentT> rolloutTrace) {
+        return ((MctsTracingDomainAgent<StateT, ActionT, AgentT>) agentInvoking)
+                .getTerminalStateByPerformingSimulationFromState(state, rolloutTrace);
+    }
+
+    private StateT getTerminalStateFromDefaultPolicy(StateT state, Cloner statesCloner, AgentT agentInvoking) {
+        return agentInvoking.getTerminalStateByPerformingSimulationFromState(
+                getRolloutStateFromState(state, statesCloner));
+    }
+
+    private StateT getRolloutStateFromState(StateT state, Cloner statesCloner) {
+        return state instanceof MctsReusableDomainState
+                ? getRolloutScratchStateFromState(state, statesCloner)
+                : MctsTreeNode.copyOfState(state, statesCloner);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StateT getRolloutScratchStateFromState(StateT state, Cloner statesCloner) {
+        // every thread plays its rollouts on a single reused state, overwritten before each simulation
+        StateT rolloutScratchState = rolloutScratchStates.get();
+        if (rolloutScratchState == null) {
+            rolloutScratchState = MctsTreeNode.copyOfState(state, statesCloner);
+            rolloutScratchStates.set(rolloutScratchState);
+        } else {
+            ((MctsReusableDomainState) state).copyInto((MctsReusableDomainState) rolloutScratchState);
+        }
+        return rolloutScratchState;
     }
 
     private void backPropagate(MctsTreeNode<StateT, ActionT, AgentT> node, StateT terminalState) {
@@ -124,10 +1394,46 @@ public class Mcts<StateT extends MctsDomainState<ActionT, AgentT>, ActionT, Agen
         }
     }
 
+    void backPropagateAmafValues(MctsTreeNode<StateT, ActionT, AgentT> node, StateT terminalState,
+                                 MctsRolloutTrace<ActionT, AgentT> rolloutTrace) {
+        // every child reached by an action its parent's agent played later in the iteration is updated,
+        // actions of the rollout are followed by actions of the selected path from the bottom up
+        rolloutTrace.addRolloutActionsToSubsequentActions();
+        while (node != null) {
+            updateChildNodesAmafValues(node, terminalState, rolloutTrace);
+            MctsTreeNode<StateT, ActionT, AgentT> parentNode = node.getParentNode();
+            if (parentNode != null && node.getIncomingAction() != null)
+                rolloutTrace.addSubsequentAction(node.getRepresentedStatesPreviousAgent(), node.getIncomingAction());
+            node = parentNode;
+        }
+    }
+
+    private void updateChildNodesAmafValues(MctsTreeNode<StateT, ActionT, AgentT> node, StateT terminalState,
+                                            MctsRolloutTrace<ActionT, AgentT> rolloutTrace) {
+        AgentT agent = node.getRepresentedStatesCurrentAgent();
+        Set<ActionT> agentsSubsequentActions = rolloutTrace.getSubsequentActions(agent);
+        if (agentsSubsequentActions == null)
+            return;
+        double reward = agent.getRewardFromTerminalState(terminalState);
+        for (int i = 0, numberOfChildNodes = node.getNumberOfChildNodes(); i < numberOfChildNodes; i++) {
+            MctsTreeNode<StateT, ActionT, AgentT> childNode = node.getChildNode(i);
+            ActionT incomingAction = childNode.getIncomingAction();
+            if (incomingAction != null && agentsSubsequentActions.contains(incomingAction))
+                childNode.updateAmafValue(reward);
+        }
+    }
+
     private void updateNodesDomainTheoreticValue(MctsTreeNode<StateT, ActionT, AgentT> node, StateT terminalState) {
         // violation of the law of demeter
         AgentT parentsStatesCurrentAgent = node.getRepresentedStatesPreviousAgent();
         double reward = parentsStatesCurrentAgent.getRewardFromTerminalState(terminalState);
         node.updateDomainTheoreticValue(reward);
+        updateTranspositionTable(node, reward);
+    }
+
+    private void updateTranspositionTable(MctsTreeNode<StateT, ActionT, AgentT> node, double reward) {
+        // every backpropagation writes the table, as selection and the selected action read values from it
+        if (transpositionTable != null && node.representsHashableState())
+            transpositionTable.updateDomainTheoreticValue(node.getRepresentedStatesHash(), reward);
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package io.github.nejc92.mcts;
+
+public interface MctsActionCodec<ActionT> {
+
+    // Long.MIN_VALUE is reserved for child nodes reached by skipping the current agent
+    long encodeAction(ActionT action);
+
+    ActionT decodeAction(long encodedAction);
+}
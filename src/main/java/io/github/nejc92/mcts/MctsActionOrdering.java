@@ -0,0 +1,9 @@
+package io.github.nejc92.mcts;
+
+import java.util.List;
+
+public interface MctsActionOrdering<StateT extends MctsDomainState<ActionT, ?>, ActionT> {
+
+    // untried actions are not kept in the order returned by the state, as expanded actions are swapped out
+    int getIndexOfNextUntriedAction(StateT state, List<ActionT> untriedActions);
+}
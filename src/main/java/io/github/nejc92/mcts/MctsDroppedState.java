@@ -0,0 +1,38 @@
+package io.github.nejc92.mcts;
+
+class MctsDroppedState<AgentT extends MctsDomainAgent> {
+
+    private final boolean terminal;
+    private final AgentT currentAgent;
+    private final AgentT previousAgent;
+    private final boolean hashable;
+    private final long stateHash;
+
+    protected MctsDroppedState(MctsDomainState<?, AgentT> state) {
+        this.terminal = state.isTerminal();
+        this.currentAgent = state.getCurrentAgent();
+        this.previousAgent = state.getPreviousAgent();
+        this.hashable = state instanceof MctsHashableDomainState;
+        this.stateHash = hashable ? ((MctsHashableDomainState) state).getStateHash() : 0;
+    }
+
+    protected boolean isTerminal() {
+        return terminal;
+    }
+
+    protected AgentT getCurrentAgent() {
+        return currentAgent;
+    }
+
+    protected AgentT getPreviousAgent() {
+        return previousAgent;
+    }
+
+    protected boolean isHashable() {
+        return hashable;
+    }
+
+    protected long getStateHash() {
+        return stateHash;
+    }
+}
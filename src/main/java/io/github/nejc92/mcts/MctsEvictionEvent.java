@@ -0,0 +1,29 @@
+package io.github.nejc92.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.nejc92.mcts.Eviction")
+@Label("MCTS Eviction")
+@Category("MCTS")
+@Description("Least visited subtrees were evicted to keep the tree within its memory bound")
+class MctsEvictionEvent extends Event {
+
+    @Label("Evicted Subtrees")
+    int numberOfEvictedSubtrees;
+
+    @Label("Evicted Nodes")
+    int numberOfEvictedNodes;
+
+    protected static void commitEvictionEvent(int numberOfEvictedSubtrees, int numberOfEvictedNodes) {
+        MctsEvictionEvent evictionEvent = new MctsEvictionEvent();
+        if (evictionEvent.shouldCommit()) {
+            evictionEvent.numberOfEvictedSubtrees = numberOfEvictedSubtrees;
+            evictionEvent.numberOfEvictedNodes = numberOfEvictedNodes;
+            evictionEvent.commit();
+        }
+    }
+}
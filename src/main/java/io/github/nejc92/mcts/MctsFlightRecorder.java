@@ -0,0 +1,53 @@
+package io.github.nejc92.mcts;
+
+final class MctsFlightRecorder {
+
+    // event classes extend jdk.jfr.Event, so they are only loaded once Flight Recorder is known to be present
+    private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    private MctsFlightRecorder() {}
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, MctsFlightRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    protected static Object beginSearchEvent() {
+        return AVAILABLE ? MctsSearchEvent.beginSearchEvent() : null;
+    }
+
+    protected static void commitSearchEvent(Object searchEvent, int numberOfIterations, int numberOfSavedIterations,
+                                            int numberOfCreatedNodes, Object selectedAction,
+                                            double explorationParameter) {
+        if (searchEvent != null) {
+            MctsSearchEvent.commitSearchEvent(searchEvent, numberOfIterations, numberOfSavedIterations,
+                    numberOfCreatedNodes, selectedAction, explorationParameter);
+        }
+    }
+
+    protected static boolean isIterationRecorded() {
+        return AVAILABLE && MctsIterationEvent.isRecorded();
+    }
+
+    protected static void commitIterationEvent(int selectionDepth, int numberOfCreatedNodes, long selectionNanos,
+                                               long expansionNanos, long simulationNanos, long backPropagationNanos) {
+        if (AVAILABLE) {
+            MctsIterationEvent.commitIterationEvent(selectionDepth, numberOfCreatedNodes, selectionNanos,
+                    expansionNanos, simulationNanos, backPropagationNanos);
+        }
+    }
+
+    protected static void commitRerootEvent(MctsTreeNode<?, ?, ?> newRootNode) {
+        if (AVAILABLE)
+            MctsRerootEvent.commitRerootEvent(newRootNode);
+    }
+
+    protected static void commitEvictionEvent(int numberOfEvictedSubtrees, int numberOfEvictedNodes) {
+        if (AVAILABLE)
+            MctsEvictionEvent.commitEvictionEvent(numberOfEvictedSubtrees, numberOfEvictedNodes);
+    }
+}
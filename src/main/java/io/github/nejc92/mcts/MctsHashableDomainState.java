@@ -0,0 +1,7 @@
+package io.github.nejc92.mcts;
+
+public interface MctsHashableDomainState<ActionT, AgentT extends MctsDomainAgent>
+        extends MctsDomainState<ActionT, AgentT> {
+
+    long getStateHash();
+}
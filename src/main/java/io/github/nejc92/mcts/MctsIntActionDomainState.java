@@ -0,0 +1,31 @@
+package io.github.nejc92.mcts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public interface MctsIntActionDomainState<AgentT extends MctsDomainAgent>
+        extends MctsCopyableDomainState<Integer, AgentT> {
+
+    // returned by searches when the current agent has no available actions, so it must not be a valid action
+    int NO_ACTION = Integer.MIN_VALUE;
+
+    int getMaximumNumberOfAvailableActions();
+    int getAvailableActionsForCurrentAgent(int[] availableActions);
+    MctsDomainState performActionForCurrentAgent(int action);
+
+    @Override
+    default List<Integer> getAvailableActionsForCurrentAgent() {
+        int[] availableActions = new int[getMaximumNumberOfAvailableActions()];
+        int numberOfAvailableActions = getAvailableActionsForCurrentAgent(availableActions);
+        List<Integer> availableActionsList = new ArrayList<>(numberOfAvailableActions);
+        for (int i = 0; i < numberOfAvailableActions; i++) {
+            availableActionsList.add(availableActions[i]);
+        }
+        return availableActionsList;
+    }
+
+    @Override
+    default MctsDomainState performActionForCurrentAgent(Integer action) {
+        return performActionForCurrentAgent(action.intValue());
+    }
+}
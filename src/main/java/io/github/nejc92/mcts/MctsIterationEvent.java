@@ -0,0 +1,56 @@
+package io.github.nejc92.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("io.github.nejc92.mcts.Iteration")
+@Label("MCTS Iteration")
+@Category("MCTS")
+@Description("A sampled iteration of a search")
+class MctsIterationEvent extends Event {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(MctsIterationEvent.class);
+
+    @Label("Selection Depth")
+    int selectionDepth;
+
+    @Label("Created Nodes")
+    int numberOfCreatedNodes;
+
+    @Label("Selection")
+    @Timespan
+    long selectionNanos;
+
+    @Label("Expansion")
+    @Timespan
+    long expansionNanos;
+
+    @Label("Simulation")
+    @Timespan
+    long simulationNanos;
+
+    @Label("Backpropagation")
+    @Timespan
+    long backPropagationNanos;
+
+    protected static boolean isRecorded() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    protected static void commitIterationEvent(int selectionDepth, int numberOfCreatedNodes, long selectionNanos,
+                                               long expansionNanos, long simulationNanos, long backPropagationNanos) {
+        MctsIterationEvent iterationEvent = new MctsIterationEvent();
+        iterationEvent.selectionDepth = selectionDepth;
+        iterationEvent.numberOfCreatedNodes = numberOfCreatedNodes;
+        iterationEvent.selectionNanos = selectionNanos;
+        iterationEvent.expansionNanos = expansionNanos;
+        iterationEvent.simulationNanos = simulationNanos;
+        iterationEvent.backPropagationNanos = backPropagationNanos;
+        iterationEvent.commit();
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.nejc92.mcts;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class MctsLeafEvaluation<ActionT> {
+
+    private final double value;
+    private final Map<ActionT, Double> actionPriors;
+
+    public MctsLeafEvaluation(double value) {
+        this(value, Collections.emptyMap());
+    }
+
+    // value is the expected reward of the leaf state's current agent,
+    // the remainder of the reward is attributed to the other agent
+    public MctsLeafEvaluation(double value, Map<ActionT, Double> actionPriors) {
+        this.value = value;
+        this.actionPriors = actionPriors;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public boolean hasActionPriors() {
+        return !actionPriors.isEmpty();
+    }
+
+    public double getActionPrior(ActionT action) {
+        Double actionPrior = actionPriors.get(action);
+        return actionPrior == null ? 0 : actionPrior;
+    }
+}
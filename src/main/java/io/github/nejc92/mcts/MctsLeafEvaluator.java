@@ -0,0 +1,9 @@
+package io.github.nejc92.mcts;
+
+import java.util.List;
+
+public interface MctsLeafEvaluator<StateT extends MctsDomainState, ActionT> {
+
+    // leaf states belong to the tree and must not be modified, evaluations are returned in the same order
+    List<MctsLeafEvaluation<ActionT>> evaluateLeafStates(List<StateT> leafStates);
+}
@@ -0,0 +1,34 @@
+package io.github.nejc92.mcts;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+public final class MctsRandom {
+
+    // generators of running searches, agents reach them from simulations performed on the search's thread
+    private static final ThreadLocal<SplittableRandom> SEARCH_RANDOMS = new ThreadLocal<>();
+    private static final ThreadLocal<SplittableRandom> THREAD_RANDOMS = ThreadLocal.withInitial(SplittableRandom::new);
+
+    private MctsRandom() {
+    }
+
+    public static SplittableRandom current() {
+        SplittableRandom searchRandom = SEARCH_RANDOMS.get();
+        return searchRandom != null ? searchRandom : THREAD_RANDOMS.get();
+    }
+
+    public static <ElementT> ElementT getRandomElement(List<ElementT> elements) {
+        if (elements.isEmpty())
+            throw new IllegalArgumentException("Error: elements must not be empty");
+        return elements.get(current().nextInt(elements.size()));
+    }
+
+    static SplittableRandom setCurrent(SplittableRandom searchRandom) {
+        SplittableRandom previousSearchRandom = SEARCH_RANDOMS.get();
+        if (searchRandom == null)
+            SEARCH_RANDOMS.remove();
+        else
+            SEARCH_RANDOMS.set(searchRandom);
+        return previousSearchRandom;
+    }
+}
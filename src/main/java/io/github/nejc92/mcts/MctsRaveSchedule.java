@@ -0,0 +1,7 @@
+package io.github.nejc92.mcts;
+
+public interface MctsRaveSchedule {
+
+    // weight of the all-moves-as-first value, the node's own value is weighted by the remainder
+    double getAmafWeight(int visitCount, int amafVisitCount);
+}
@@ -0,0 +1,34 @@
+package io.github.nejc92.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.nejc92.mcts.Reroot")
+@Label("MCTS Reroot")
+@Category("MCTS")
+@Description("A node of a search session became the root of its tree")
+class MctsRerootEvent extends Event {
+
+    @Label("Incoming Action")
+    String incomingAction;
+
+    @Label("Retained Visits")
+    int retainedVisitCount;
+
+    @Label("Retained Nodes")
+    int retainedNumberOfNodes;
+
+    protected static void commitRerootEvent(MctsTreeNode<?, ?, ?> newRootNode) {
+        MctsRerootEvent rerootEvent = new MctsRerootEvent();
+        if (rerootEvent.shouldCommit()) {
+            // counting nodes walks the retained subtree, so it is only done while the event is recorded
+            rerootEvent.incomingAction = String.valueOf(newRootNode.getIncomingAction());
+            rerootEvent.retainedVisitCount = newRootNode.getVisitCount();
+            rerootEvent.retainedNumberOfNodes = newRootNode.getNumberOfNodesInSubtree();
+            rerootEvent.commit();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.nejc92.mcts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MctsResultCache<ActionT> {
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Map<Key, CachedResult<ActionT>> cachedResults;
+    private final LongAdder numberOfHits;
+    private final LongAdder numberOfPartialHits;
+    private final LongAdder numberOfMisses;
+
+    public MctsResultCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Error: result cache capacity must be positive");
+        // access ordered, so the least recently used result is evicted once the capacity is exceeded
+        this.cachedResults = new LinkedHashMap<Key, CachedResult<ActionT>>(16, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResult<ActionT>> eldestEntry) {
+                return size() > capacity;
+            }
+        };
+        this.numberOfHits = new LongAdder();
+        this.numberOfPartialHits = new LongAdder();
+        this.numberOfMisses = new LongAdder();
+    }
+
+    public long getNumberOfHits() {
+        return numberOfHits.sum();
+    }
+
+    public long getNumberOfPartialHits() {
+        return numberOfPartialHits.sum();
+    }
+
+    public long getNumberOfMisses() {
+        return numberOfMisses.sum();
+    }
+
+    public synchronized int getNumberOfCachedResults() {
+        return cachedResults.size();
+    }
+
+    public synchronized void clear() {
+        cachedResults.clear();
+    }
+
+    protected CachedResult<ActionT> getCachedResult(
+            long stateHash, double explorationParameter, Object searchSettings, int requiredNumberOfVisits) {
+        CachedResult<ActionT> cachedResult;
+        synchronized (this) {
+            cachedResult = cachedResults.get(new Key(stateHash, explorationParameter, searchSettings));
+        }
+        if (cachedResult == null)
+            numberOfMisses.increment();
+        else if (cachedResult.getNumberOfVisits() >= requiredNumberOfVisits)
+            numberOfHits.increment();
+        else
+            numberOfPartialHits.increment();
+        return cachedResult;
+    }
+
+    protected synchronized void putCachedResult(long stateHash, double explorationParameter, Object searchSettings,
+                                                ActionT selectedAction, MctsRootStatistics<ActionT> rootStatistics) {
+        cachedResults.put(new Key(stateHash, explorationParameter, searchSettings),
+                new CachedResult<>(selectedAction, rootStatistics));
+    }
+
+    static class CachedResult<ActionT> {
+
+        private final ActionT selectedAction;
+        private final MctsRootStatistics<ActionT> rootStatistics;
+        private final int numberOfVisits;
+
+        private CachedResult(ActionT selectedAction, MctsRootStatistics<ActionT> rootStatistics) {
+            this.selectedAction = selectedAction;
+            this.rootStatistics = rootStatistics;
+            int numberOfVisits = 0;
+            for (ActionT action : rootStatistics.getActions())
+                numberOfVisits += rootStatistics.getVisitCount(action);
+            this.numberOfVisits = numberOfVisits;
+        }
+
+        protected ActionT getSelectedAction() {
+            return selectedAction;
+        }
+
+        // never modified once cached, as cached results are shared by concurrent searches
+        protected MctsRootStatistics<ActionT> getRootStatistics() {
+            return rootStatistics;
+        }
+
+        protected int getNumberOfVisits() {
+            return numberOfVisits;
+        }
+    }
+
+    private static final class Key {
+
+        // searches of different settings share a cache, but not its results
+        private final long stateHash;
+        private final double explorationParameter;
+        private final Object searchSettings;
+
+        private Key(long stateHash, double explorationParameter, Object searchSettings) {
+            this.stateHash = stateHash;
+            this.explorationParameter = explorationParameter;
+            this.searchSettings = searchSettings;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+            Key otherKey = (Key) other;
+            return stateHash == otherKey.stateHash
+                    && Double.compare(explorationParameter, otherKey.explorationParameter) == 0
+                    && Objects.equals(searchSettings, otherKey.searchSettings);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(stateHash) + Double.hashCode(explorationParameter))
+                    + Objects.hashCode(searchSettings);
+        }
+    }
+}
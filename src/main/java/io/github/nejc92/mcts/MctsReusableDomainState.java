@@ -0,0 +1,7 @@
+package io.github.nejc92.mcts;
+
+public interface MctsReusableDomainState<ActionT, AgentT extends MctsDomainAgent>
+        extends MctsCopyableDomainState<ActionT, AgentT> {
+
+    void copyInto(MctsReusableDomainState<ActionT, AgentT> target);
+}
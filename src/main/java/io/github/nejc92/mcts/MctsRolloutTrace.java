@@ -0,0 +1,60 @@
+package io.github.nejc92.mcts;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MctsRolloutTrace<ActionT, AgentT extends MctsDomainAgent> {
+
+    private final List<AgentT> agents;
+    private final List<ActionT> actions;
+    private final Map<AgentT, Set<ActionT>> subsequentActions;
+
+    protected MctsRolloutTrace() {
+        this.agents = new ArrayList<>();
+        this.actions = new ArrayList<>();
+        this.subsequentActions = new HashMap<>();
+    }
+
+    public void addAction(AgentT agent, ActionT action) {
+        agents.add(agent);
+        actions.add(action);
+    }
+
+    protected int getNumberOfActions() {
+        return actions.size();
+    }
+
+    protected AgentT getAgent(int index) {
+        return agents.get(index);
+    }
+
+    protected ActionT getAction(int index) {
+        return actions.get(index);
+    }
+
+    protected void addRolloutActionsToSubsequentActions() {
+        for (int i = 0; i < actions.size(); i++)
+            addSubsequentAction(agents.get(i), actions.get(i));
+    }
+
+    protected void addSubsequentAction(AgentT agent, ActionT action) {
+        subsequentActions.computeIfAbsent(agent, key -> new HashSet<>()).add(action);
+    }
+
+    protected Set<ActionT> getSubsequentActions(AgentT agent) {
+        Set<ActionT> agentsSubsequentActions = subsequentActions.get(agent);
+        return agentsSubsequentActions == null || agentsSubsequentActions.isEmpty() ? null : agentsSubsequentActions;
+    }
+
+    protected void clear() {
+        // sets of subsequent actions are emptied rather than dropped, as traces are reused by every iteration
+        agents.clear();
+        actions.clear();
+        for (Set<ActionT> agentsSubsequentActions : subsequentActions.values())
+            agentsSubsequentActions.clear();
+    }
+}
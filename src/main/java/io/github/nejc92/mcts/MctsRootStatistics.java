@@ -0,0 +1,64 @@
+package io.github.nejc92.mcts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class MctsRootStatistics<ActionT> {
+
+    private final Map<ActionT, int[]> visitCounts;
+    private final Map<ActionT, double[]> totalRewards;
+
+    protected MctsRootStatistics() {
+        this.visitCounts = new LinkedHashMap<>();
+        this.totalRewards = new LinkedHashMap<>();
+    }
+
+    protected void addRootNodesChildren(MctsTreeNode<?, ActionT, ?> rootNode) {
+        for (MctsTreeNode<?, ActionT, ?> childNode : rootNode.getChildNodes()) {
+            addActionStatistics(childNode.getIncomingAction(), childNode.getVisitCount(),
+                    childNode.getTotalReward());
+        }
+    }
+
+    protected void addActionStatistics(ActionT action, int visitCount, double totalReward) {
+        visitCounts.computeIfAbsent(action, key -> new int[1])[0] += visitCount;
+        totalRewards.computeIfAbsent(action, key -> new double[1])[0] += totalReward;
+    }
+
+    protected int getVisitCount(ActionT action) {
+        int[] visitCount = visitCounts.get(action);
+        return visitCount == null ? 0 : visitCount[0];
+    }
+
+    protected double getTotalReward(ActionT action) {
+        double[] totalReward = totalRewards.get(action);
+        return totalReward == null ? 0.0 : totalReward[0];
+    }
+
+    protected Iterable<ActionT> getActions() {
+        return visitCounts.keySet();
+    }
+
+    protected boolean hasVisitedAction() {
+        return visitCounts.values().stream()
+                .anyMatch(visitCount -> visitCount[0] > 0);
+    }
+
+    protected ActionT getMostPromisingAction() {
+        ActionT mostPromisingAction = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (ActionT action : visitCounts.keySet()) {
+            int visitCount = getVisitCount(action);
+            if (visitCount == 0)
+                continue;
+            double value = getTotalReward(action) / visitCount;
+            if (value > bestValue) {
+                bestValue = value;
+                mostPromisingAction = action;
+            }
+        }
+        if (mostPromisingAction == null)
+            throw new UnsupportedOperationException("Error: operation not supported if no action was visited");
+        return mostPromisingAction;
+    }
+}
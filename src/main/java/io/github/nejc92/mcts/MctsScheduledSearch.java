@@ -0,0 +1,125 @@
+package io.github.nejc92.mcts;
+
+import java.util.concurrent.CompletableFuture;
+
+class MctsScheduledSearch<StateT extends MctsDomainState<ActionT, AgentT>, ActionT,
+        AgentT extends MctsDomainAgent<StateT>> {
+
+    private static final long NOT_STARTED = -1;
+
+    private final Mcts<StateT, ActionT, AgentT> mcts;
+    private final StateT state;
+    private final double explorationParameter;
+    private final int numberOfIterations;
+    private final long submissionNanos;
+    private final long deadline;
+    private final long sequenceNumber;
+    private final CompletableFuture<ActionT> result;
+    private MctsTreeNode<StateT, ActionT, AgentT> rootNode;
+    private ActionT selectedAction;
+    private Throwable exception;
+    private int numberOfCompletedIterations;
+    private long startNanos;
+
+    protected MctsScheduledSearch(Mcts<StateT, ActionT, AgentT> mcts, StateT state, double explorationParameter,
+                                  int numberOfIterations, long timeLimitNanos, long sequenceNumber) {
+        this.mcts = mcts;
+        this.state = state;
+        this.explorationParameter = explorationParameter;
+        this.numberOfIterations = numberOfIterations;
+        this.submissionNanos = System.nanoTime();
+        this.deadline = submissionNanos + timeLimitNanos;
+        this.sequenceNumber = sequenceNumber;
+        this.result = new CompletableFuture<>();
+        this.rootNode = null;
+        this.selectedAction = null;
+        this.exception = null;
+        this.numberOfCompletedIterations = 0;
+        this.startNanos = NOT_STARTED;
+    }
+
+    protected boolean runSlice(int numberOfIterationsPerSlice) {
+        // returns true once the search is finished, a cancelled result finishes it without searching;
+        // the result is completed separately, after the scheduler has accounted for the search
+        if (result.isDone()) {
+            abortSearch();
+            return true;
+        }
+        try {
+            if (rootNode == null)
+                startSearch();
+            numberOfCompletedIterations += mcts.searchSlice(rootNode,
+                    Math.min(numberOfIterationsPerSlice, numberOfIterations - numberOfCompletedIterations),
+                    numberOfIterations - numberOfCompletedIterations);
+            if (!isFinished())
+                return false;
+            MctsTreeNode<StateT, ActionT, AgentT> searchedRootNode = rootNode;
+            rootNode = null;
+            selectedAction = mcts.finishSlicedSearch(searchedRootNode);
+        } catch (Throwable e) {
+            // errors are caught as well, otherwise they would end the worker and the result would never complete
+            exception = e;
+            abortSearch();
+        }
+        return true;
+    }
+
+    private void abortSearch() {
+        // a started search holds its Mcts until it is finished or aborted
+        if (rootNode != null) {
+            rootNode = null;
+            mcts.abortSlicedSearch();
+        }
+    }
+
+    private void startSearch() {
+        startNanos = System.nanoTime();
+        rootNode = mcts.startSlicedSearch(state, explorationParameter);
+    }
+
+    private boolean isFinished() {
+        return numberOfCompletedIterations >= numberOfIterations
+                || mcts.isSlicedSearchStopped()
+                || System.nanoTime() - deadline >= 0;
+    }
+
+    protected void completeResult() {
+        if (exception == null)
+            result.complete(selectedAction);
+        else
+            result.completeExceptionally(exception);
+    }
+
+    protected void cancel() {
+        result.cancel(false);
+        abortSearch();
+    }
+
+    protected Mcts<StateT, ActionT, AgentT> getMcts() {
+        return mcts;
+    }
+
+    protected long getDeadline() {
+        return deadline;
+    }
+
+    protected long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    protected long getSubmissionNanos() {
+        return submissionNanos;
+    }
+
+    protected boolean hasStarted() {
+        return startNanos != NOT_STARTED;
+    }
+
+    protected long getQueueWaitNanos() {
+        return startNanos - submissionNanos;
+    }
+
+    protected CompletableFuture<ActionT> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.nejc92.mcts;
+
+import java.util.Arrays;
+
+public class MctsSchedulerStats {
+
+    private final long numberOfSubmittedSearches;
+    private final long numberOfCompletedSearches;
+    private final long numberOfCancelledSearches;
+    private final long numberOfMissedDeadlines;
+    private final int numberOfQueuedSearches;
+    private final long totalQueueWaitNanos;
+    private final long maxQueueWaitNanos;
+    private final long[] sortedLatencies;
+
+    protected MctsSchedulerStats(long numberOfSubmittedSearches, long numberOfCompletedSearches,
+                                 long numberOfCancelledSearches, long numberOfMissedDeadlines,
+                                 int numberOfQueuedSearches, long totalQueueWaitNanos, long maxQueueWaitNanos,
+                                 long[] recentLatencies) {
+        this.numberOfSubmittedSearches = numberOfSubmittedSearches;
+        this.numberOfCompletedSearches = numberOfCompletedSearches;
+        this.numberOfCancelledSearches = numberOfCancelledSearches;
+        this.numberOfMissedDeadlines = numberOfMissedDeadlines;
+        this.numberOfQueuedSearches = numberOfQueuedSearches;
+        this.totalQueueWaitNanos = totalQueueWaitNanos;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+        this.sortedLatencies = recentLatencies.clone();
+        Arrays.sort(sortedLatencies);
+    }
+
+    public long getNumberOfSubmittedSearches() {
+        return numberOfSubmittedSearches;
+    }
+
+    public long getNumberOfCompletedSearches() {
+        return numberOfCompletedSearches;
+    }
+
+    public long getNumberOfCancelledSearches() {
+        return numberOfCancelledSearches;
+    }
+
+    public long getNumberOfMissedDeadlines() {
+        return numberOfMissedDeadlines;
+    }
+
+    public int getNumberOfQueuedSearches() {
+        return numberOfQueuedSearches;
+    }
+
+    public long getMeanQueueWaitNanos() {
+        if (numberOfCompletedSearches == 0)
+            return 0;
+        return totalQueueWaitNanos / numberOfCompletedSearches;
+    }
+
+    public long getMaxQueueWaitNanos() {
+        return maxQueueWaitNanos;
+    }
+
+    public long getLatencyPercentileNanos(double percentile) {
+        // percentiles are taken over the most recently completed searches
+        if (percentile <= 0 || percentile > 100)
+            throw new IllegalArgumentException("Error: percentile must be in range (0, 100]");
+        if (sortedLatencies.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[rank - 1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("searches: %d submitted, %d completed, %d cancelled, %d missed deadlines, %d queued; "
+                        + "queue wait: %d ns mean, %d ns max; latency: %d ns p50, %d ns p99",
+                numberOfSubmittedSearches, numberOfCompletedSearches, numberOfCancelledSearches,
+                numberOfMissedDeadlines, numberOfQueuedSearches, getMeanQueueWaitNanos(), maxQueueWaitNanos,
+                getLatencyPercentileNanos(50), getLatencyPercentileNanos(99));
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.nejc92.mcts;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MctsSearchBudget {
+
+    private static final int ITERATIONS_BETWEEN_TIME_CHECKS = 16;
+    private static final long NO_TIME_LIMIT = 0;
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final int nodeLimit;
+    private final AtomicBoolean cancellationFlag;
+    private final AtomicBoolean stopFlag;
+    private final AtomicInteger numberOfNodes;
+    private final AtomicInteger numberOfCompletedIterations;
+    private volatile boolean deadlineReached;
+    private volatile boolean aborted;
+    private volatile int numberOfSavedIterations;
+
+    protected MctsSearchBudget(long timeLimitNanos, int nodeLimit, AtomicBoolean cancellationFlag,
+                               AtomicBoolean stopFlag) {
+        this.hasDeadline = timeLimitNanos != NO_TIME_LIMIT;
+        this.deadline = System.nanoTime() + timeLimitNanos;
+        this.nodeLimit = nodeLimit;
+        this.cancellationFlag = cancellationFlag;
+        this.stopFlag = stopFlag;
+        this.numberOfNodes = new AtomicInteger();
+        this.numberOfCompletedIterations = new AtomicInteger();
+        this.deadlineReached = false;
+        this.aborted = false;
+        this.numberOfSavedIterations = 0;
+    }
+
+    protected boolean isExhausted(int iteration) {
+        return aborted
+                || cancellationFlag.get()
+                || stopFlag.get()
+                || numberOfNodes.get() >= nodeLimit
+                || isDeadlineReached(iteration);
+    }
+
+    protected boolean isExhausted() {
+        // the deadline is checked on every call, for searches whose steps take long
+        return aborted
+                || cancellationFlag.get()
+                || stopFlag.get()
+                || numberOfNodes.get() >= nodeLimit
+                || isDeadlineReached(0);
+    }
+
+    protected void abort() {
+        aborted = true;
+    }
+
+    private boolean isDeadlineReached(int iteration) {
+        if (hasDeadline && !deadlineReached && iteration % ITERATIONS_BETWEEN_TIME_CHECKS == 0)
+            deadlineReached = System.nanoTime() - deadline >= 0;
+        return deadlineReached;
+    }
+
+    protected void addNodes(int addedNodes) {
+        numberOfNodes.addAndGet(addedNodes);
+    }
+
+    protected int getNumberOfNodes() {
+        return numberOfNodes.get();
+    }
+
+    protected void addCompletedIteration() {
+        numberOfCompletedIterations.incrementAndGet();
+    }
+
+    protected int getNumberOfCompletedIterations() {
+        return numberOfCompletedIterations.get();
+    }
+
+    protected void setNumberOfSavedIterations(int numberOfSavedIterations) {
+        this.numberOfSavedIterations = numberOfSavedIterations;
+    }
+
+    protected int getNumberOfSavedIterations() {
+        return numberOfSavedIterations;
+    }
+}
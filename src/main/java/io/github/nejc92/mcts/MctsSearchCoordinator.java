@@ -0,0 +1,348 @@
+package io.github.nejc92.mcts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class MctsSearchCoordinator<StateT, ActionT> implements Closeable {
+
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS_BETWEEN_REPORTS = 256;
+    private static final int NO_SOCKET_TIMEOUT = 0;
+
+    private final ServerSocket serverSocket;
+    private final MctsStateSerializer<StateT> stateSerializer;
+    private final MctsActionCodec<ActionT> actionCodec;
+    private final List<WorkerConnection> workers;
+    private final ExecutorService workerReaders;
+    private int numberOfIterationsBetweenReports;
+    private int socketTimeoutMillis;
+    private boolean grandchildStatisticsEnabled;
+    private MctsRootStatistics<ActionT> mergedChildStatistics;
+    private Map<ActionT, MctsRootStatistics<ActionT>> mergedGrandchildStatistics;
+    private int numberOfIterationsOfLastSearch;
+    private boolean closed;
+
+    public MctsSearchCoordinator(int port, MctsStateSerializer<StateT> stateSerializer,
+                                 MctsActionCodec<ActionT> actionCodec) throws IOException {
+        // the coordinator listens on loopback, pass port 0 to bind any free port
+        this(new ServerSocket(port, 0, InetAddress.getLoopbackAddress()), stateSerializer, actionCodec);
+    }
+
+    public MctsSearchCoordinator(ServerSocket serverSocket, MctsStateSerializer<StateT> stateSerializer,
+                                 MctsActionCodec<ActionT> actionCodec) {
+        this.serverSocket = serverSocket;
+        this.stateSerializer = stateSerializer;
+        this.actionCodec = actionCodec;
+        this.workers = new ArrayList<>();
+        this.workerReaders = Executors.newCachedThreadPool(runnable -> {
+            Thread workerReader = new Thread(runnable, "mcts-coordinator-reader");
+            workerReader.setDaemon(true);
+            return workerReader;
+        });
+        this.numberOfIterationsBetweenReports = DEFAULT_NUMBER_OF_ITERATIONS_BETWEEN_REPORTS;
+        this.socketTimeoutMillis = NO_SOCKET_TIMEOUT;
+        this.grandchildStatisticsEnabled = false;
+        this.mergedChildStatistics = new MctsRootStatistics<>();
+        this.mergedGrandchildStatistics = new LinkedHashMap<>();
+        this.numberOfIterationsOfLastSearch = 0;
+        this.closed = false;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setNumberOfIterationsBetweenReports(int numberOfIterationsBetweenReports) {
+        if (numberOfIterationsBetweenReports < 1)
+            throw new IllegalArgumentException("Error: number of iterations between reports must be positive");
+        this.numberOfIterationsBetweenReports = numberOfIterationsBetweenReports;
+    }
+
+    public void setSocketTimeout(long socketTimeout, TimeUnit unit) throws IOException {
+        // accepting a worker and every read from a worker fail with a SocketTimeoutException after the timeout,
+        // workers report after every number of iterations between reports, so it must cover a single report
+        if (socketTimeout <= 0)
+            throw new IllegalArgumentException("Error: socket timeout must be positive");
+        applySocketTimeout((int) Math.max(1, Math.min(Integer.MAX_VALUE, unit.toMillis(socketTimeout))));
+    }
+
+    public void removeSocketTimeout() throws IOException {
+        applySocketTimeout(NO_SOCKET_TIMEOUT);
+    }
+
+    private void applySocketTimeout(int socketTimeoutMillis) throws IOException {
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        serverSocket.setSoTimeout(socketTimeoutMillis);
+        for (WorkerConnection worker : workers)
+            worker.socket.setSoTimeout(socketTimeoutMillis);
+    }
+
+    public void enableGrandchildStatistics() {
+        grandchildStatisticsEnabled = true;
+    }
+
+    public void disableGrandchildStatistics() {
+        grandchildStatisticsEnabled = false;
+    }
+
+    public void acceptWorkers(int numberOfWorkers) throws IOException {
+        if (numberOfWorkers < 1)
+            throw new IllegalArgumentException("Error: number of workers must be positive");
+        for (int i = 0; i < numberOfWorkers; i++) {
+            Socket workerSocket = serverSocket.accept();
+            WorkerConnection worker;
+            try {
+                workerSocket.setTcpNoDelay(true);
+                workerSocket.setSoTimeout(socketTimeoutMillis);
+                worker = new WorkerConnection(workerSocket);
+                MctsSearchProtocol.writeHandshake(worker.output);
+                MctsSearchProtocol.readHandshake(worker.input);
+            } catch (IOException e) {
+                workerSocket.close();
+                throw e;
+            }
+            workers.add(worker);
+        }
+    }
+
+    public int getNumberOfWorkers() {
+        // workers whose connection failed are dropped, so this may be lower than the number of accepted workers
+        return workers.size();
+    }
+
+    public ActionT uctSearchWithExploration(StateT state, double explorationParameter, int numberOfIterations)
+            throws IOException {
+        // every worker runs the number of iterations on an independent tree,
+        // the combined action is chosen from the merged statistics of root's children
+        if (workers.isEmpty())
+            throw new IllegalStateException("Error: operation not supported without connected workers");
+        if (numberOfIterations < 1)
+            throw new IllegalArgumentException("Error: number of iterations must be positive");
+        byte[] serializedState = stateSerializer.serializeState(state);
+        IOException writeFailure = null;
+        for (WorkerConnection worker : workers) {
+            try {
+                writeSearch(worker.output, explorationParameter, numberOfIterations, serializedState);
+            } catch (IOException e) {
+                worker.failed = true;
+                if (writeFailure == null)
+                    writeFailure = e;
+            }
+        }
+        List<MctsWorkerStatistics<ActionT>> workerStatistics;
+        try {
+            workerStatistics = collectWorkerStatistics();
+        } finally {
+            dropFailedWorkers();
+        }
+        if (writeFailure != null)
+            throw writeFailure;
+        mergeWorkerStatistics(workerStatistics);
+        if (!mergedChildStatistics.hasVisitedAction())
+            throw new IllegalStateException("Error: workers didn't visit any action");
+        ActionT combinedAction = mergedChildStatistics.getMostPromisingAction();
+        long encodedCombinedAction = MctsSearchProtocol.encodeAction(combinedAction, actionCodec);
+        try {
+            for (WorkerConnection worker : workers) {
+                try {
+                    worker.output.writeByte(MctsSearchProtocol.RESULT);
+                    worker.output.writeLong(encodedCombinedAction);
+                    worker.output.flush();
+                } catch (IOException e) {
+                    // the combined action is still valid, the worker is dropped before the next search
+                    worker.failed = true;
+                }
+            }
+        } finally {
+            dropFailedWorkers();
+        }
+        return combinedAction;
+    }
+
+    private void writeSearch(DataOutputStream output, double explorationParameter, int numberOfIterations,
+                             byte[] serializedState) throws IOException {
+        output.writeByte(MctsSearchProtocol.SEARCH);
+        output.writeDouble(explorationParameter);
+        output.writeInt(numberOfIterations);
+        output.writeInt(numberOfIterationsBetweenReports);
+        output.writeBoolean(grandchildStatisticsEnabled);
+        output.writeInt(serializedState.length);
+        output.write(serializedState);
+        output.flush();
+    }
+
+    private List<MctsWorkerStatistics<ActionT>> collectWorkerStatistics() throws IOException {
+        // workers are read concurrently, so a worker is never blocked on a full socket buffer,
+        // and every reader finishes before a failure is thrown, so no reader is left on a stream
+        List<WorkerConnection> searchingWorkers = new ArrayList<>();
+        List<Future<MctsWorkerStatistics<ActionT>>> futures = new ArrayList<>();
+        for (WorkerConnection worker : workers) {
+            if (worker.failed)
+                continue;
+            searchingWorkers.add(worker);
+            futures.add(workerReaders.submit(() -> readReportsUntilDone(worker.input)));
+        }
+        List<MctsWorkerStatistics<ActionT>> workerStatistics = new ArrayList<>();
+        Throwable failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                workerStatistics.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                // readers are still on the streams of the remaining workers, so those workers can't be used again
+                for (int j = i; j < searchingWorkers.size(); j++)
+                    searchingWorkers.get(j).failed = true;
+                Thread.currentThread().interrupt();
+                throw new IOException("Error: interrupted while waiting for workers", e);
+            } catch (ExecutionException e) {
+                // a reported search failure leaves the stream at a message boundary, any other failure doesn't,
+                // and the worker may still send reports of this search, so it isn't used again
+                if (!(e.getCause() instanceof MctsWorkerFailure))
+                    searchingWorkers.get(i).failed = true;
+                if (failure == null)
+                    failure = e.getCause();
+            }
+        }
+        if (failure instanceof IOException)
+            throw (IOException) failure;
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+        if (failure != null)
+            throw new IllegalStateException("Error: reading worker statistics failed", failure);
+        return workerStatistics;
+    }
+
+    private MctsWorkerStatistics<ActionT> readReportsUntilDone(DataInputStream input) throws IOException {
+        // reports are cumulative, so only the last one is merged, earlier reports keep the socket timeout from
+        // expiring during long searches
+        MctsWorkerStatistics<ActionT> latestStatistics = null;
+        while (true) {
+            byte message = input.readByte();
+            if (message == MctsSearchProtocol.STATISTICS)
+                latestStatistics = MctsSearchProtocol.readStatistics(input, actionCodec);
+            else if (message == MctsSearchProtocol.DONE && latestStatistics != null)
+                return latestStatistics;
+            else if (message == MctsSearchProtocol.ERROR)
+                throw new MctsWorkerFailure("Error: worker search failed: " + input.readUTF());
+            else
+                throw new IOException("Error: unexpected message received from worker");
+        }
+    }
+
+    private void mergeWorkerStatistics(List<MctsWorkerStatistics<ActionT>> workerStatistics) {
+        mergedChildStatistics = new MctsRootStatistics<>();
+        mergedGrandchildStatistics = new LinkedHashMap<>();
+        numberOfIterationsOfLastSearch = 0;
+        for (MctsWorkerStatistics<ActionT> statistics : workerStatistics) {
+            numberOfIterationsOfLastSearch += statistics.getNumberOfCompletedIterations();
+            MctsRootStatistics<ActionT> childStatistics = statistics.getChildStatistics();
+            for (ActionT action : childStatistics.getActions()) {
+                mergedChildStatistics.addActionStatistics(action, childStatistics.getVisitCount(action),
+                        childStatistics.getTotalReward(action));
+            }
+            for (Map.Entry<ActionT, MctsRootStatistics<ActionT>> entry
+                    : statistics.getGrandchildStatistics().entrySet()) {
+                MctsRootStatistics<ActionT> mergedReplyStatistics =
+                        mergedGrandchildStatistics.computeIfAbsent(entry.getKey(), key -> new MctsRootStatistics<>());
+                for (ActionT reply : entry.getValue().getActions()) {
+                    mergedReplyStatistics.addActionStatistics(reply, entry.getValue().getVisitCount(reply),
+                            entry.getValue().getTotalReward(reply));
+                }
+            }
+        }
+    }
+
+    public int getNumberOfIterationsOfLastSearch() {
+        return numberOfIterationsOfLastSearch;
+    }
+
+    public int getVisitCount(ActionT action) {
+        return mergedChildStatistics.getVisitCount(action);
+    }
+
+    public double getTotalReward(ActionT action) {
+        return mergedChildStatistics.getTotalReward(action);
+    }
+
+    public int getVisitCount(ActionT action, ActionT reply) {
+        MctsRootStatistics<ActionT> replyStatistics = mergedGrandchildStatistics.get(action);
+        return replyStatistics == null ? 0 : replyStatistics.getVisitCount(reply);
+    }
+
+    public double getTotalReward(ActionT action, ActionT reply) {
+        MctsRootStatistics<ActionT> replyStatistics = mergedGrandchildStatistics.get(action);
+        return replyStatistics == null ? 0.0 : replyStatistics.getTotalReward(reply);
+    }
+
+    private void dropFailedWorkers() {
+        // closing the socket also ends the worker, which would otherwise keep sending reports of a failed search
+        for (WorkerConnection worker : workers) {
+            if (worker.failed)
+                worker.closeQuietly();
+        }
+        workers.removeIf(worker -> worker.failed);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // connected workers are shut down before their sockets are closed
+        if (closed)
+            return;
+        closed = true;
+        try {
+            for (WorkerConnection worker : workers) {
+                worker.output.writeByte(MctsSearchProtocol.SHUTDOWN);
+                worker.output.flush();
+            }
+        } finally {
+            workerReaders.shutdownNow();
+            for (WorkerConnection worker : workers)
+                worker.closeQuietly();
+            serverSocket.close();
+        }
+    }
+
+    private static final class WorkerConnection {
+
+        private final Socket socket;
+        private final DataInputStream input;
+        private final DataOutputStream output;
+        private boolean failed;
+
+        private WorkerConnection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.failed = false;
+        }
+
+        private void closeQuietly() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // the connection is abandoned either way
+            }
+        }
+    }
+
+    private static final class MctsWorkerFailure extends IllegalStateException {
+
+        private MctsWorkerFailure(String message) {
+            super(message);
+        }
+    }
+}
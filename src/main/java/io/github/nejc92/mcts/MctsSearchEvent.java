@@ -0,0 +1,50 @@
+package io.github.nejc92.mcts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.nejc92.mcts.Search")
+@Label("MCTS Search")
+@Category("MCTS")
+@Description("A search from a single root state")
+class MctsSearchEvent extends Event {
+
+    @Label("Iterations")
+    int numberOfIterations;
+
+    @Label("Saved Iterations")
+    int numberOfSavedIterations;
+
+    @Label("Created Nodes")
+    int numberOfCreatedNodes;
+
+    @Label("Selected Action")
+    String selectedAction;
+
+    @Label("Exploration Parameter")
+    double explorationParameter;
+
+    protected static MctsSearchEvent beginSearchEvent() {
+        MctsSearchEvent searchEvent = new MctsSearchEvent();
+        searchEvent.begin();
+        return searchEvent;
+    }
+
+    protected static void commitSearchEvent(Object event, int numberOfIterations, int numberOfSavedIterations,
+                                            int numberOfCreatedNodes, Object selectedAction,
+                                            double explorationParameter) {
+        MctsSearchEvent searchEvent = (MctsSearchEvent) event;
+        searchEvent.end();
+        if (searchEvent.shouldCommit()) {
+            searchEvent.numberOfIterations = numberOfIterations;
+            searchEvent.numberOfSavedIterations = numberOfSavedIterations;
+            searchEvent.numberOfCreatedNodes = numberOfCreatedNodes;
+            searchEvent.selectedAction = String.valueOf(selectedAction);
+            searchEvent.explorationParameter = explorationParameter;
+            searchEvent.commit();
+        }
+    }
+}
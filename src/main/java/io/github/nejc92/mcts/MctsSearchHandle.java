@@ -0,0 +1,55 @@
+package io.github.nejc92.mcts;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+public class MctsSearchHandle<ActionT> {
+
+    private final AtomicBoolean stopFlag;
+    private final CompletableFuture<ActionT> search;
+    private final CompletableFuture<ActionT> result;
+
+    protected MctsSearchHandle(Function<AtomicBoolean, ActionT> search, Executor executor) {
+        this.stopFlag = new AtomicBoolean(false);
+        this.search = CompletableFuture.supplyAsync(() -> search.apply(stopFlag), executor);
+        // the result is completed separately, so cancelling it doesn't detach the search still using the tree
+        this.result = new CompletableFuture<>();
+        this.search.whenComplete((selectedAction, exception) -> {
+            if (exception == null)
+                result.complete(selectedAction);
+            else
+                result.completeExceptionally(exception);
+        });
+    }
+
+    public CompletableFuture<ActionT> getResult() {
+        return result;
+    }
+
+    public ActionT stopNow() {
+        stopFlag.set(true);
+        return search.join();
+    }
+
+    public boolean cancel() {
+        stopFlag.set(true);
+        return result.cancel(false);
+    }
+
+    public boolean isDone() {
+        return search.isDone();
+    }
+
+    protected void stopAndAwait() {
+        stopFlag.set(true);
+        try {
+            search.join();
+        } catch (CompletionException | CancellationException e) {
+            // the outcome of a stopped search is of no interest to the caller
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.nejc92.mcts;
+
+import java.util.Map;
+
+public interface MctsSearchListener<ActionT> {
+
+    // called from every searching thread, so implementations must be thread safe for parallel searches
+    default void searchStarted() {
+    }
+
+    default void iterationCompleted(int selectionDepth, int numberOfCreatedNodes, int numberOfStateCopies,
+                                    long selectionNanos, long expansionNanos, long simulationNanos,
+                                    long backPropagationNanos) {
+    }
+
+    default void searchFinished(ActionT selectedAction, Map<ActionT, Integer> rootChildVisitCounts) {
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.nejc92.mcts;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+final class MctsSearchProtocol {
+
+    protected static final int MAGIC_NUMBER = 0x4D435344;
+    protected static final int PROTOCOL_VERSION = 2;
+    // messages sent by the coordinator
+    protected static final byte SEARCH = 1;
+    protected static final byte RESULT = 2;
+    protected static final byte SHUTDOWN = 3;
+    // messages sent by workers
+    protected static final byte STATISTICS = 1;
+    protected static final byte DONE = 2;
+    protected static final byte ERROR = 3;
+    private static final int MAXIMUM_ERROR_DESCRIPTION_LENGTH = 1024;
+    private static final long NO_ENCODED_ACTION = Long.MIN_VALUE;
+
+    private MctsSearchProtocol() {
+    }
+
+    protected static void writeHandshake(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC_NUMBER);
+        output.writeInt(PROTOCOL_VERSION);
+        output.flush();
+    }
+
+    protected static void readHandshake(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC_NUMBER || input.readInt() != PROTOCOL_VERSION)
+            throw new IOException("Error: peer doesn't speak the search protocol");
+    }
+
+    protected static void writeError(DataOutputStream output, RuntimeException exception) throws IOException {
+        String description = String.valueOf(exception);
+        output.writeByte(ERROR);
+        output.writeUTF(description.length() > MAXIMUM_ERROR_DESCRIPTION_LENGTH
+                ? description.substring(0, MAXIMUM_ERROR_DESCRIPTION_LENGTH) : description);
+        output.flush();
+    }
+
+    protected static <ActionT> long encodeAction(ActionT action, MctsActionCodec<ActionT> actionCodec) {
+        if (action == null)
+            return NO_ENCODED_ACTION;
+        long encodedAction = actionCodec.encodeAction(action);
+        if (encodedAction == NO_ENCODED_ACTION)
+            throw new IllegalArgumentException("Error: action codec must not encode an action as Long.MIN_VALUE");
+        return encodedAction;
+    }
+
+    protected static <ActionT> ActionT decodeAction(long encodedAction, MctsActionCodec<ActionT> actionCodec) {
+        return encodedAction == NO_ENCODED_ACTION ? null : actionCodec.decodeAction(encodedAction);
+    }
+
+    protected static <ActionT> void writeStatistics(
+            DataOutputStream output, MctsTreeNode<?, ActionT, ?> rootNode, int numberOfCompletedIterations,
+            boolean includeGrandchildren, MctsActionCodec<ActionT> actionCodec) throws IOException {
+        // statistics are cumulative, so a report replaces the previous report of the same worker
+        output.writeByte(STATISTICS);
+        output.writeInt(numberOfCompletedIterations);
+        List<? extends MctsTreeNode<?, ActionT, ?>> childNodes = rootNode.getChildNodes();
+        output.writeInt(childNodes.size());
+        for (MctsTreeNode<?, ActionT, ?> childNode : childNodes) {
+            writeNodeStatistics(output, childNode, actionCodec);
+            List<? extends MctsTreeNode<?, ActionT, ?>> grandchildNodes = includeGrandchildren
+                    ? childNode.getChildNodes() : Collections.emptyList();
+            output.writeInt(grandchildNodes.size());
+            for (MctsTreeNode<?, ActionT, ?> grandchildNode : grandchildNodes)
+                writeNodeStatistics(output, grandchildNode, actionCodec);
+        }
+        output.flush();
+    }
+
+    private static <ActionT> void writeNodeStatistics(
+            DataOutputStream output, MctsTreeNode<?, ActionT, ?> node, MctsActionCodec<ActionT> actionCodec)
+            throws IOException {
+        output.writeLong(encodeAction(node.getIncomingAction(), actionCodec));
+        output.writeInt(node.getVisitCount());
+        output.writeDouble(node.getTotalReward());
+    }
+
+    protected static <ActionT> MctsWorkerStatistics<ActionT> readStatistics(
+            DataInputStream input, MctsActionCodec<ActionT> actionCodec) throws IOException {
+        MctsWorkerStatistics<ActionT> statistics = new MctsWorkerStatistics<>(input.readInt());
+        int numberOfChildren = input.readInt();
+        for (int i = 0; i < numberOfChildren; i++) {
+            ActionT action = decodeAction(input.readLong(), actionCodec);
+            statistics.addChildStatistics(action, input.readInt(), input.readDouble());
+            int numberOfGrandchildren = input.readInt();
+            for (int j = 0; j < numberOfGrandchildren; j++) {
+                ActionT reply = decodeAction(input.readLong(), actionCodec);
+                statistics.addGrandchildStatistics(action, reply, input.readInt(), input.readDouble());
+            }
+        }
+        return statistics;
+    }
+}
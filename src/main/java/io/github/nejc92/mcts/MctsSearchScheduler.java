@@ -0,0 +1,170 @@
+package io.github.nejc92.mcts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MctsSearchScheduler {
+
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS_PER_SLICE = 64;
+    private static final int NUMBER_OF_RECORDED_LATENCIES = 1024;
+    private static final int INITIAL_QUEUE_CAPACITY = 64;
+    private static final Comparator<MctsScheduledSearch<?, ?, ?>> EARLIEST_DEADLINE_FIRST =
+            Comparator.<MctsScheduledSearch<?, ?, ?>>comparingLong(MctsScheduledSearch::getDeadline)
+                    .thenComparingLong(MctsScheduledSearch::getSequenceNumber);
+
+    private final int numberOfIterationsPerSlice;
+    private final PriorityBlockingQueue<MctsScheduledSearch<?, ?, ?>> scheduledSearches;
+    private final Set<Mcts<?, ?, ?>> scheduledMcts;
+    private final ExecutorService workers;
+    private final AtomicLong sequenceNumbers;
+    private final LongAdder numberOfSubmittedSearches;
+    private final LongAdder numberOfCompletedSearches;
+    private final LongAdder numberOfCancelledSearches;
+    private final LongAdder numberOfMissedDeadlines;
+    private final LongAdder totalQueueWaitNanos;
+    private final AtomicLong maxQueueWaitNanos;
+    private final long[] recordedLatencies;
+    private int numberOfRecordedLatencies;
+    private volatile boolean shutDown;
+
+    public MctsSearchScheduler(int numberOfWorkers) {
+        this(numberOfWorkers, DEFAULT_NUMBER_OF_ITERATIONS_PER_SLICE);
+    }
+
+    public MctsSearchScheduler(int numberOfWorkers, int numberOfIterationsPerSlice) {
+        if (numberOfWorkers < 1)
+            throw new IllegalArgumentException("Error: number of workers must be positive");
+        if (numberOfIterationsPerSlice < 1)
+            throw new IllegalArgumentException("Error: number of iterations per slice must be positive");
+        this.numberOfIterationsPerSlice = numberOfIterationsPerSlice;
+        this.scheduledSearches = new PriorityBlockingQueue<>(INITIAL_QUEUE_CAPACITY, EARLIEST_DEADLINE_FIRST);
+        this.scheduledMcts = ConcurrentHashMap.newKeySet();
+        this.workers = Executors.newFixedThreadPool(numberOfWorkers, runnable -> {
+            Thread worker = new Thread(runnable, "mcts-scheduler-worker");
+            worker.setDaemon(true);
+            return worker;
+        });
+        this.sequenceNumbers = new AtomicLong();
+        this.numberOfSubmittedSearches = new LongAdder();
+        this.numberOfCompletedSearches = new LongAdder();
+        this.numberOfCancelledSearches = new LongAdder();
+        this.numberOfMissedDeadlines = new LongAdder();
+        this.totalQueueWaitNanos = new LongAdder();
+        this.maxQueueWaitNanos = new AtomicLong();
+        this.recordedLatencies = new long[NUMBER_OF_RECORDED_LATENCIES];
+        this.numberOfRecordedLatencies = 0;
+        this.shutDown = false;
+        for (int i = 0; i < numberOfWorkers; i++)
+            workers.execute(this::runWorker);
+    }
+
+    public <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent<StateT>>
+    CompletableFuture<ActionT> uctSearchWithExploration(Mcts<StateT, ActionT, AgentT> mcts, StateT state,
+                                                        double explorationParameter, int numberOfIterations,
+                                                        long timeLimit, TimeUnit timeUnit) {
+        // the earliest deadline is searched first, a search may only be scheduled once per Mcts at a time
+        if (numberOfIterations < 1)
+            throw new IllegalArgumentException("Error: number of iterations must be positive");
+        if (timeLimit <= 0)
+            throw new IllegalArgumentException("Error: time limit must be positive");
+        if (shutDown)
+            throw new IllegalStateException("Error: scheduler is shut down");
+        if (!scheduledMcts.add(mcts))
+            throw new IllegalStateException("Error: mcts already has a scheduled search");
+        MctsScheduledSearch<StateT, ActionT, AgentT> search = new MctsScheduledSearch<>(mcts, state,
+                explorationParameter, numberOfIterations, timeUnit.toNanos(timeLimit),
+                sequenceNumbers.getAndIncrement());
+        numberOfSubmittedSearches.increment();
+        scheduledSearches.put(search);
+        return search.getResult();
+    }
+
+    private void runWorker() {
+        try {
+            while (!shutDown) {
+                // a search is put back after every slice, so searches with earlier deadlines can preempt it
+                MctsScheduledSearch<?, ?, ?> search = scheduledSearches.take();
+                if (!shutDown && search.runSlice(numberOfIterationsPerSlice))
+                    completeSearch(search);
+                else if (shutDown)
+                    cancelSearch(search);
+                else
+                    requeueSearch(search);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void requeueSearch(MctsScheduledSearch<?, ?, ?> search) {
+        scheduledSearches.put(search);
+        // a shutdown may have drained the queue before the search was put back
+        if (shutDown && scheduledSearches.remove(search))
+            cancelSearch(search);
+    }
+
+    private void completeSearch(MctsScheduledSearch<?, ?, ?> search) {
+        long completionNanos = System.nanoTime();
+        scheduledMcts.remove(search.getMcts());
+        if (search.getResult().isCancelled()) {
+            numberOfCancelledSearches.increment();
+            return;
+        }
+        numberOfCompletedSearches.increment();
+        if (completionNanos - search.getDeadline() > 0)
+            numberOfMissedDeadlines.increment();
+        if (search.hasStarted()) {
+            totalQueueWaitNanos.add(search.getQueueWaitNanos());
+            maxQueueWaitNanos.accumulateAndGet(search.getQueueWaitNanos(), Math::max);
+        }
+        recordLatency(completionNanos - search.getSubmissionNanos());
+        search.completeResult();
+    }
+
+    private void cancelSearch(MctsScheduledSearch<?, ?, ?> search) {
+        search.cancel();
+        scheduledMcts.remove(search.getMcts());
+        numberOfCancelledSearches.increment();
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        // only the most recent latencies are kept for percentiles
+        recordedLatencies[numberOfRecordedLatencies % NUMBER_OF_RECORDED_LATENCIES] = latencyNanos;
+        numberOfRecordedLatencies++;
+    }
+
+    private synchronized long[] getRecordedLatencies() {
+        return Arrays.copyOf(recordedLatencies, Math.min(numberOfRecordedLatencies, NUMBER_OF_RECORDED_LATENCIES));
+    }
+
+    public MctsSchedulerStats getStats() {
+        long numberOfCompletedSearches = this.numberOfCompletedSearches.sum();
+        return new MctsSchedulerStats(numberOfSubmittedSearches.sum(), numberOfCompletedSearches,
+                numberOfCancelledSearches.sum(), numberOfMissedDeadlines.sum(), scheduledSearches.size(),
+                totalQueueWaitNanos.sum(), maxQueueWaitNanos.get(), getRecordedLatencies());
+    }
+
+    public void shutdown() {
+        // searches that haven't finished yet are cancelled
+        shutDown = true;
+        workers.shutdownNow();
+        List<MctsScheduledSearch<?, ?, ?>> remainingSearches = new ArrayList<>();
+        scheduledSearches.drainTo(remainingSearches);
+        remainingSearches.forEach(this::cancelSearch);
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        return workers.awaitTermination(timeout, timeUnit);
+    }
+}
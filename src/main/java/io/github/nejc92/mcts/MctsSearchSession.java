@@ -0,0 +1,95 @@
+package io.github.nejc92.mcts;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+public class MctsSearchSession<StateT extends MctsDomainState<ActionT, AgentT>, ActionT,
+        AgentT extends MctsDomainAgent<StateT>> {
+
+    private final Mcts<StateT, ActionT, AgentT> mcts;
+    private MctsTreeNode<StateT, ActionT, AgentT> rootNode;
+    private MctsSearchHandle<ActionT> runningSearch;
+
+    protected MctsSearchSession(Mcts<StateT, ActionT, AgentT> mcts, MctsTreeNode<StateT, ActionT, AgentT> rootNode) {
+        this.mcts = mcts;
+        this.rootNode = rootNode;
+        this.runningSearch = null;
+    }
+
+    public ActionT uctSearchWithExploration(double explorationParameter) {
+        stopRunningSearch();
+        return mcts.uctSearchWithExplorationFromRootNode(rootNode, explorationParameter);
+    }
+
+    public ActionT treeParallelUctSearchWithExploration(double explorationParameter, int numberOfThreads) {
+        stopRunningSearch();
+        return mcts.treeParallelUctSearchWithExplorationFromRootNode(rootNode, explorationParameter, numberOfThreads);
+    }
+
+    public MctsSearchHandle<ActionT> uctSearchWithExplorationAsync(double explorationParameter,
+                                                                  Executor executor) {
+        stopRunningSearch();
+        MctsTreeNode<StateT, ActionT, AgentT> searchedRootNode = rootNode;
+        runningSearch = new MctsSearchHandle<>(stopFlag -> mcts.uctSearchWithExplorationFromRootNode(
+                searchedRootNode, explorationParameter, stopFlag), executor);
+        return runningSearch;
+    }
+
+    public MctsSearchHandle<ActionT> ponderWithExploration(double explorationParameter, Executor executor) {
+        stopRunningSearch();
+        MctsTreeNode<StateT, ActionT, AgentT> searchedRootNode = rootNode;
+        runningSearch = new MctsSearchHandle<>(stopFlag -> mcts.ponderWithExplorationFromRootNode(
+                searchedRootNode, explorationParameter, stopFlag), executor);
+        return runningSearch;
+    }
+
+    public void stopRunningSearch() {
+        if (runningSearch != null) {
+            runningSearch.stopAndAwait();
+            runningSearch = null;
+        }
+    }
+
+    public void advance(ActionT playedAction) {
+        // a search pondering on the opponent's time is stopped, and its subtree of the played action is kept
+        stopRunningSearch();
+        MctsTreeNode<StateT, ActionT, AgentT> childNode = rootNode.getChildNodeFromAction(playedAction);
+        if (childNode == null)
+            childNode = createRootNodeFromUnexpandedAction(playedAction);
+        childNode.detachFromParentNode();
+        rootNode = childNode;
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> createRootNodeFromUnexpandedAction(ActionT playedAction) {
+        StateT state = rootNode.getDeepCloneOfRepresentedState();
+        if (playedAction == null)
+            state.skipCurrentAgent();
+        else
+            state.performActionForCurrentAgent(playedAction);
+        return new MctsTreeNode<>(state, rootNode.getCloner());
+    }
+
+    public void exportTree(Path path, MctsActionCodec<ActionT> actionCodec) throws IOException {
+        exportTree(path, actionCodec, Integer.MAX_VALUE);
+    }
+
+    public void exportTree(Path path, MctsActionCodec<ActionT> actionCodec, int numberOfPlies) throws IOException {
+        if (numberOfPlies < 0)
+            throw new IllegalArgumentException("Error: number of plies must not be negative");
+        stopRunningSearch();
+        MctsTreeFile.write(rootNode, path, actionCodec, numberOfPlies);
+    }
+
+    public StateT getState() {
+        return rootNode.getDeepCloneOfRepresentedState();
+    }
+
+    public int getRootVisitCount() {
+        return rootNode.getVisitCount();
+    }
+
+    protected MctsTreeNode<StateT, ActionT, AgentT> getRootNode() {
+        return rootNode;
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.nejc92.mcts;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MctsSearchStats<ActionT> {
+
+    private final ActionT selectedAction;
+    private final long numberOfIterations;
+    private final long elapsedNanos;
+    private final long selectionNanos;
+    private final long expansionNanos;
+    private final long simulationNanos;
+    private final long backPropagationNanos;
+    private final int maxSelectionDepth;
+    private final long totalSelectionDepth;
+    private final long numberOfCreatedNodes;
+    private final long numberOfStateCopies;
+    private final Map<ActionT, Integer> rootChildVisitCounts;
+
+    protected MctsSearchStats(ActionT selectedAction, long numberOfIterations, long elapsedNanos,
+                              long selectionNanos, long expansionNanos, long simulationNanos,
+                              long backPropagationNanos, int maxSelectionDepth, long totalSelectionDepth,
+                              long numberOfCreatedNodes, long numberOfStateCopies,
+                              Map<ActionT, Integer> rootChildVisitCounts) {
+        this.selectedAction = selectedAction;
+        this.numberOfIterations = numberOfIterations;
+        this.elapsedNanos = elapsedNanos;
+        this.selectionNanos = selectionNanos;
+        this.expansionNanos = expansionNanos;
+        this.simulationNanos = simulationNanos;
+        this.backPropagationNanos = backPropagationNanos;
+        this.maxSelectionDepth = maxSelectionDepth;
+        this.totalSelectionDepth = totalSelectionDepth;
+        this.numberOfCreatedNodes = numberOfCreatedNodes;
+        this.numberOfStateCopies = numberOfStateCopies;
+        this.rootChildVisitCounts = Collections.unmodifiableMap(new LinkedHashMap<>(rootChildVisitCounts));
+    }
+
+    public ActionT getSelectedAction() {
+        return selectedAction;
+    }
+
+    public long getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getIterationsPerSecond() {
+        if (elapsedNanos == 0)
+            return 0;
+        return numberOfIterations * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public long getSelectionNanos() {
+        return selectionNanos;
+    }
+
+    public long getExpansionNanos() {
+        return expansionNanos;
+    }
+
+    public long getSimulationNanos() {
+        return simulationNanos;
+    }
+
+    public long getBackPropagationNanos() {
+        return backPropagationNanos;
+    }
+
+    public int getMaxSelectionDepth() {
+        return maxSelectionDepth;
+    }
+
+    public double getAverageSelectionDepth() {
+        if (numberOfIterations == 0)
+            return 0;
+        return (double) totalSelectionDepth / numberOfIterations;
+    }
+
+    public long getNumberOfCreatedNodes() {
+        return numberOfCreatedNodes;
+    }
+
+    public long getNumberOfStateCopies() {
+        return numberOfStateCopies;
+    }
+
+    public Map<ActionT, Integer> getRootChildVisitCounts() {
+        return rootChildVisitCounts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("iterations: %d (%.0f/s), selection: %d ns, expansion: %d ns, simulation: %d ns, "
+                        + "backpropagation: %d ns, selection depth: %.2f (max %d), created nodes: %d, "
+                        + "state copies: %d, root child visits: %s",
+                numberOfIterations, getIterationsPerSecond(), selectionNanos, expansionNanos, simulationNanos,
+                backPropagationNanos, getAverageSelectionDepth(), maxSelectionDepth, numberOfCreatedNodes,
+                numberOfStateCopies, rootChildVisitCounts);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.nejc92.mcts;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MctsSearchStatsCollector<ActionT> implements MctsSearchListener<ActionT> {
+
+    private final LongAdder numberOfIterations;
+    private final LongAdder selectionNanos;
+    private final LongAdder expansionNanos;
+    private final LongAdder simulationNanos;
+    private final LongAdder backPropagationNanos;
+    private final LongAdder totalSelectionDepth;
+    private final LongAdder numberOfCreatedNodes;
+    private final LongAdder numberOfStateCopies;
+    private final AtomicInteger maxSelectionDepth;
+    private volatile long searchStartNanos;
+    private volatile MctsSearchStats<ActionT> searchStats;
+
+    public MctsSearchStatsCollector() {
+        this.numberOfIterations = new LongAdder();
+        this.selectionNanos = new LongAdder();
+        this.expansionNanos = new LongAdder();
+        this.simulationNanos = new LongAdder();
+        this.backPropagationNanos = new LongAdder();
+        this.totalSelectionDepth = new LongAdder();
+        this.numberOfCreatedNodes = new LongAdder();
+        this.numberOfStateCopies = new LongAdder();
+        this.maxSelectionDepth = new AtomicInteger();
+    }
+
+    @Override
+    public void searchStarted() {
+        numberOfIterations.reset();
+        selectionNanos.reset();
+        expansionNanos.reset();
+        simulationNanos.reset();
+        backPropagationNanos.reset();
+        totalSelectionDepth.reset();
+        numberOfCreatedNodes.reset();
+        numberOfStateCopies.reset();
+        maxSelectionDepth.set(0);
+        searchStats = null;
+        searchStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void iterationCompleted(int selectionDepth, int numberOfCreatedNodes, int numberOfStateCopies,
+                                   long selectionNanos, long expansionNanos, long simulationNanos,
+                                   long backPropagationNanos) {
+        this.numberOfIterations.increment();
+        this.selectionNanos.add(selectionNanos);
+        this.expansionNanos.add(expansionNanos);
+        this.simulationNanos.add(simulationNanos);
+        this.backPropagationNanos.add(backPropagationNanos);
+        this.totalSelectionDepth.add(selectionDepth);
+        this.numberOfCreatedNodes.add(numberOfCreatedNodes);
+        this.numberOfStateCopies.add(numberOfStateCopies);
+        this.maxSelectionDepth.accumulateAndGet(selectionDepth, Math::max);
+    }
+
+    @Override
+    public void searchFinished(ActionT selectedAction, Map<ActionT, Integer> rootChildVisitCounts) {
+        searchStats = new MctsSearchStats<>(selectedAction, numberOfIterations.sum(),
+                System.nanoTime() - searchStartNanos, selectionNanos.sum(), expansionNanos.sum(),
+                simulationNanos.sum(), backPropagationNanos.sum(), maxSelectionDepth.get(),
+                totalSelectionDepth.sum(), numberOfCreatedNodes.sum(), numberOfStateCopies.sum(),
+                rootChildVisitCounts);
+    }
+
+    public MctsSearchStats<ActionT> getSearchStats() {
+        if (searchStats == null)
+            throw new IllegalStateException("Error: operation not supported before a search finished");
+        return searchStats;
+    }
+}
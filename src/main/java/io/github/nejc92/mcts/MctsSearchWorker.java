@@ -0,0 +1,102 @@
+package io.github.nejc92.mcts;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+public class MctsSearchWorker<StateT extends MctsDomainState<ActionT, AgentT>, ActionT,
+        AgentT extends MctsDomainAgent<StateT>> {
+
+    private final Mcts<StateT, ActionT, AgentT> mcts;
+    private final MctsStateSerializer<StateT> stateSerializer;
+    private final MctsActionCodec<ActionT> actionCodec;
+    private volatile ActionT lastCombinedAction;
+
+    public MctsSearchWorker(Mcts<StateT, ActionT, AgentT> mcts, MctsStateSerializer<StateT> stateSerializer,
+                            MctsActionCodec<ActionT> actionCodec) {
+        this.mcts = mcts;
+        this.stateSerializer = stateSerializer;
+        this.actionCodec = actionCodec;
+        this.lastCombinedAction = null;
+    }
+
+    public void connectAndServe(String host, int port) throws IOException {
+        // searches requested by the coordinator are served until it shuts the worker down
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            MctsSearchProtocol.writeHandshake(output);
+            MctsSearchProtocol.readHandshake(input);
+            serve(input, output);
+        }
+    }
+
+    private void serve(DataInputStream input, DataOutputStream output) throws IOException {
+        while (true) {
+            byte message = input.readByte();
+            switch (message) {
+                case MctsSearchProtocol.SEARCH:
+                    search(input, output);
+                    break;
+                case MctsSearchProtocol.RESULT:
+                    lastCombinedAction = MctsSearchProtocol.decodeAction(input.readLong(), actionCodec);
+                    break;
+                case MctsSearchProtocol.SHUTDOWN:
+                    return;
+                default:
+                    throw new IOException("Error: unknown message received from coordinator");
+            }
+        }
+    }
+
+    private void search(DataInputStream input, DataOutputStream output) throws IOException {
+        double explorationParameter = input.readDouble();
+        int numberOfIterations = input.readInt();
+        int numberOfIterationsBetweenReports = input.readInt();
+        boolean includeGrandchildren = input.readBoolean();
+        byte[] serializedState = new byte[input.readInt()];
+        input.readFully(serializedState);
+        try {
+            searchFromSerializedState(output, serializedState, explorationParameter, numberOfIterations,
+                    numberOfIterationsBetweenReports, includeGrandchildren);
+        } catch (RuntimeException e) {
+            // the failure is reported instead of the statistics, and the worker keeps serving the coordinator
+            MctsSearchProtocol.writeError(output, e);
+        }
+    }
+
+    private void searchFromSerializedState(DataOutputStream output, byte[] serializedState,
+                                           double explorationParameter, int numberOfIterations,
+                                           int numberOfIterationsBetweenReports, boolean includeGrandchildren)
+            throws IOException {
+        StateT state = stateSerializer.deserializeState(serializedState);
+        MctsTreeNode<StateT, ActionT, AgentT> rootNode = mcts.startSlicedSearch(state, explorationParameter);
+        try {
+            int numberOfCompletedIterations = 0;
+            boolean finished = false;
+            while (!finished) {
+                int numberOfRemainingIterations = numberOfIterations - numberOfCompletedIterations;
+                numberOfCompletedIterations += mcts.searchSlice(rootNode,
+                        Math.min(numberOfIterationsBetweenReports, numberOfRemainingIterations),
+                        numberOfRemainingIterations);
+                finished = numberOfCompletedIterations >= numberOfIterations || mcts.isSlicedSearchStopped();
+                MctsSearchProtocol.writeStatistics(
+                        output, rootNode, numberOfCompletedIterations, includeGrandchildren, actionCodec);
+            }
+        } catch (IOException | RuntimeException e) {
+            mcts.abortSlicedSearch();
+            throw e;
+        }
+        mcts.finishSlicedSearch(rootNode);
+        output.writeByte(MctsSearchProtocol.DONE);
+        output.flush();
+    }
+
+    public ActionT getLastCombinedAction() {
+        return lastCombinedAction;
+    }
+}
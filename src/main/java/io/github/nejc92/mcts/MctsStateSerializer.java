@@ -0,0 +1,8 @@
+package io.github.nejc92.mcts;
+
+public interface MctsStateSerializer<StateT> {
+
+    byte[] serializeState(StateT state);
+
+    StateT deserializeState(byte[] serializedState);
+}
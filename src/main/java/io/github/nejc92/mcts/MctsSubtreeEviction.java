@@ -0,0 +1,78 @@
+package io.github.nejc92.mcts;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+class MctsSubtreeEviction {
+
+    private MctsSubtreeEviction() {
+    }
+
+    protected static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+            int evictLeastVisitedSubtrees(MctsTreeNode<StateT, ActionT, AgentT> rootNode,
+                                          MctsTreeNode<StateT, ActionT, AgentT> protectedNode,
+                                          int numberOfNodesToEvict) {
+        List<MctsTreeNode<StateT, ActionT, AgentT>> evictionCandidates =
+                getEvictionCandidates(rootNode, getNodeWithAncestors(protectedNode));
+        // a node is visited more often than any of its descendants, so descendants are evicted first
+        evictionCandidates.sort(Comparator.comparingInt(MctsTreeNode::getVisitCount));
+        int numberOfEvictedNodes = 0;
+        int numberOfEvictedSubtrees = 0;
+        for (MctsTreeNode<StateT, ActionT, AgentT> evictionCandidate : evictionCandidates) {
+            if (numberOfEvictedNodes >= numberOfNodesToEvict)
+                break;
+            // an ancestor with as many visits may have been evicted first, along with the candidate
+            if (!isInTreeOfRootNode(evictionCandidate, rootNode))
+                continue;
+            numberOfEvictedNodes += evictionCandidate.getNumberOfNodesInSubtree();
+            numberOfEvictedSubtrees++;
+            evictionCandidate.getParentNode().removeChildNode(evictionCandidate);
+        }
+        MctsFlightRecorder.commitEvictionEvent(numberOfEvictedSubtrees, numberOfEvictedNodes);
+        return numberOfEvictedNodes;
+    }
+
+    private static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+            boolean isInTreeOfRootNode(MctsTreeNode<StateT, ActionT, AgentT> node,
+                                       MctsTreeNode<StateT, ActionT, AgentT> rootNode) {
+        // an evicted subtree is detached from its parent
+        while (node.getParentNode() != null)
+            node = node.getParentNode();
+        return node == rootNode;
+    }
+
+    private static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+            Set<MctsTreeNode<StateT, ActionT, AgentT>> getNodeWithAncestors(
+                    MctsTreeNode<StateT, ActionT, AgentT> node) {
+        Set<MctsTreeNode<StateT, ActionT, AgentT>> nodeWithAncestors =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        for (; node != null; node = node.getParentNode()) {
+            nodeWithAncestors.add(node);
+        }
+        return nodeWithAncestors;
+    }
+
+    private static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+            List<MctsTreeNode<StateT, ActionT, AgentT>> getEvictionCandidates(
+                    MctsTreeNode<StateT, ActionT, AgentT> rootNode,
+                    Set<MctsTreeNode<StateT, ActionT, AgentT>> protectedNodes) {
+        // root's children are kept, as the selected action is chosen among them
+        List<MctsTreeNode<StateT, ActionT, AgentT>> evictionCandidates = new ArrayList<>();
+        Deque<MctsTreeNode<StateT, ActionT, AgentT>> nodesToVisit = new ArrayDeque<>(rootNode.getChildNodes());
+        while (!nodesToVisit.isEmpty()) {
+            MctsTreeNode<StateT, ActionT, AgentT> node = nodesToVisit.pop();
+            for (MctsTreeNode<StateT, ActionT, AgentT> childNode : node.getChildNodes()) {
+                if (!protectedNodes.contains(childNode))
+                    evictionCandidates.add(childNode);
+                nodesToVisit.push(childNode);
+            }
+        }
+        return evictionCandidates;
+    }
+}
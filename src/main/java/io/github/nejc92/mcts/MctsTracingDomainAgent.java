@@ -0,0 +1,9 @@
+package io.github.nejc92.mcts;
+
+public interface MctsTracingDomainAgent<StateT extends MctsDomainState, ActionT, AgentT extends MctsDomainAgent>
+        extends MctsDomainAgent<StateT> {
+
+    // every action of the simulation is added to the trace together with the agent performing it
+    StateT getTerminalStateByPerformingSimulationFromState(
+            StateT state, MctsRolloutTrace<ActionT, AgentT> rolloutTrace);
+}
@@ -0,0 +1,135 @@
+package io.github.nejc92.mcts;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+class MctsTranspositionTable {
+
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int UNVISITED = 0;
+    private static final int MAXIMUM_NUMBER_OF_LOCK_STRIPES = 64;
+
+    private final long[] stateHashes;
+    private final int[] visitCounts;
+    private final double[] totalRewards;
+    private final int bucketMask;
+    private final StampedLock[] lockStripes;
+    private final int lockStripeMask;
+
+    protected MctsTranspositionTable(int capacity) {
+        if (capacity < ENTRIES_PER_BUCKET)
+            throw new IllegalArgumentException("Error: transposition table capacity too small");
+        int numberOfBuckets = Integer.highestOneBit(capacity / ENTRIES_PER_BUCKET);
+        this.stateHashes = new long[numberOfBuckets * ENTRIES_PER_BUCKET];
+        this.visitCounts = new int[numberOfBuckets * ENTRIES_PER_BUCKET];
+        this.totalRewards = new double[numberOfBuckets * ENTRIES_PER_BUCKET];
+        this.bucketMask = numberOfBuckets - 1;
+        this.lockStripes = new StampedLock[Math.min(numberOfBuckets, MAXIMUM_NUMBER_OF_LOCK_STRIPES)];
+        for (int i = 0; i < lockStripes.length; i++)
+            lockStripes[i] = new StampedLock();
+        this.lockStripeMask = lockStripes.length - 1;
+    }
+
+    protected void updateDomainTheoreticValue(long stateHash, double rewardAddend) {
+        StampedLock lock = getLockOfBucket(stateHash);
+        long stamp = lock.writeLock();
+        try {
+            int entry = findEntry(stateHash);
+            if (entry < 0)
+                entry = replaceEntry(stateHash);
+            visitCounts[entry] += 1;
+            totalRewards[entry] += rewardAddend;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    protected int getVisitCount(long stateHash) {
+        StampedLock lock = getLockOfBucket(stateHash);
+        long stamp = lock.tryOptimisticRead();
+        int visitCount = readVisitCount(stateHash);
+        if (lock.validate(stamp))
+            return visitCount;
+        stamp = lock.readLock();
+        try {
+            return readVisitCount(stateHash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int readVisitCount(long stateHash) {
+        int entry = findEntry(stateHash);
+        return entry < 0 ? UNVISITED : visitCounts[entry];
+    }
+
+    protected double getDomainTheoreticValue(long stateHash, double defaultValue) {
+        // selection reads a value for every child, so reads are optimistic and only lock if a write intervened
+        StampedLock lock = getLockOfBucket(stateHash);
+        long stamp = lock.tryOptimisticRead();
+        double value = readDomainTheoreticValue(stateHash, defaultValue);
+        if (lock.validate(stamp))
+            return value;
+        stamp = lock.readLock();
+        try {
+            return readDomainTheoreticValue(stateHash, defaultValue);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private double readDomainTheoreticValue(long stateHash, double defaultValue) {
+        int entry = findEntry(stateHash);
+        if (entry < 0)
+            return defaultValue;
+        int visitCount = visitCounts[entry];
+        // an optimistic read may see an entry being replaced, its value is discarded by validation
+        return visitCount == UNVISITED ? defaultValue : totalRewards[entry] / visitCount;
+    }
+
+    protected void clear() {
+        long[] stamps = new long[lockStripes.length];
+        for (int i = 0; i < lockStripes.length; i++)
+            stamps[i] = lockStripes[i].writeLock();
+        try {
+            Arrays.fill(visitCounts, UNVISITED);
+            Arrays.fill(totalRewards, 0.0);
+        } finally {
+            for (int i = 0; i < lockStripes.length; i++)
+                lockStripes[i].unlockWrite(stamps[i]);
+        }
+    }
+
+    private StampedLock getLockOfBucket(long stateHash) {
+        return lockStripes[(getFirstEntryOfBucket(stateHash) / ENTRIES_PER_BUCKET) & lockStripeMask];
+    }
+
+    private int findEntry(long stateHash) {
+        int firstEntry = getFirstEntryOfBucket(stateHash);
+        for (int entry = firstEntry; entry < firstEntry + ENTRIES_PER_BUCKET; entry++) {
+            if (visitCounts[entry] != UNVISITED && stateHashes[entry] == stateHash)
+                return entry;
+        }
+        return -1;
+    }
+
+    private int replaceEntry(long stateHash) {
+        // the least visited entry of the bucket is replaced, which keeps well explored states in the table
+        int firstEntry = getFirstEntryOfBucket(stateHash);
+        int replacedEntry = firstEntry;
+        for (int entry = firstEntry + 1; entry < firstEntry + ENTRIES_PER_BUCKET; entry++) {
+            if (visitCounts[entry] < visitCounts[replacedEntry])
+                replacedEntry = entry;
+        }
+        stateHashes[replacedEntry] = stateHash;
+        visitCounts[replacedEntry] = UNVISITED;
+        totalRewards[replacedEntry] = 0.0;
+        return replacedEntry;
+    }
+
+    private int getFirstEntryOfBucket(long stateHash) {
+        int mixedHash = (int) (stateHash ^ (stateHash >>> 32));
+        mixedHash ^= mixedHash >>> 16;
+        return (mixedHash & bucketMask) * ENTRIES_PER_BUCKET;
+    }
+}
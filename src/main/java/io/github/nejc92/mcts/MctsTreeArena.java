@@ -0,0 +1,224 @@
+package io.github.nejc92.mcts;
+
+import com.rits.cloning.Cloner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class MctsTreeArena<StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent> {
+
+    protected static final int NO_NODE = -1;
+    protected static final int ROOT_NODE = 0;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] parentIndices;
+    private int[] firstChildIndices;
+    private int[] numberOfChildSlots;
+    private int[] numberOfExpandedChildren;
+    private int[] visitCounts;
+    private double[] totalRewards;
+    private Object[] incomingActions;
+    private int[] incomingIntActions;
+    private Object[] representedStates;
+    private int[] availableIntActions;
+    private boolean representsIntActionStates;
+    private int numberOfNodes;
+    private final Cloner cloner;
+
+    protected MctsTreeArena(Cloner cloner) {
+        this.parentIndices = new int[INITIAL_CAPACITY];
+        this.firstChildIndices = new int[INITIAL_CAPACITY];
+        this.numberOfChildSlots = new int[INITIAL_CAPACITY];
+        this.numberOfExpandedChildren = new int[INITIAL_CAPACITY];
+        this.visitCounts = new int[INITIAL_CAPACITY];
+        this.totalRewards = new double[INITIAL_CAPACITY];
+        this.incomingActions = new Object[INITIAL_CAPACITY];
+        this.incomingIntActions = new int[INITIAL_CAPACITY];
+        this.representedStates = new Object[INITIAL_CAPACITY];
+        this.availableIntActions = new int[0];
+        this.numberOfNodes = 0;
+        this.cloner = cloner;
+    }
+
+    protected void resetWithRootState(StateT rootState) {
+        Arrays.fill(incomingActions, 0, numberOfNodes, null);
+        Arrays.fill(representedStates, 0, numberOfNodes, null);
+        numberOfNodes = 0;
+        // actions of int action states are kept in a primitive array and never boxed
+        representsIntActionStates = rootState instanceof MctsIntActionDomainState;
+        int rootNode = reserveSlots(1);
+        initializeSlot(rootNode, NO_NODE, null);
+        representedStates[rootNode] = rootState;
+    }
+
+    protected int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    protected int getParentIndex(int node) {
+        return parentIndices[node];
+    }
+
+    protected int getFirstChildIndex(int node) {
+        return firstChildIndices[node];
+    }
+
+    protected int getNumberOfExpandedChildren(int node) {
+        return numberOfExpandedChildren[node];
+    }
+
+    protected int getVisitCount(int node) {
+        return visitCounts[node];
+    }
+
+    protected double getTotalReward(int node) {
+        return totalRewards[node];
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ActionT getIncomingAction(int node) {
+        if (!representsIntActionStates)
+            return (ActionT) incomingActions[node];
+        else if (incomingIntActions[node] == MctsIntActionDomainState.NO_ACTION)
+            return null;
+        else
+            return (ActionT) Integer.valueOf(incomingIntActions[node]);
+    }
+
+    protected int getIncomingIntAction(int node) {
+        return incomingIntActions[node];
+    }
+
+    @SuppressWarnings("unchecked")
+    protected StateT getRepresentedState(int node) {
+        return (StateT) representedStates[node];
+    }
+
+    protected boolean representsTerminalState(int node) {
+        return getRepresentedState(node).isTerminal();
+    }
+
+    protected boolean isFullyExpanded(int node) {
+        return firstChildIndices[node] != NO_NODE && numberOfExpandedChildren[node] == numberOfChildSlots[node];
+    }
+
+    protected int expandWithRandomUntriedChild(int node, SplittableRandom random) {
+        if (firstChildIndices[node] == NO_NODE)
+            reserveChildSlots(node);
+        int firstUntriedChild = firstChildIndices[node] + numberOfExpandedChildren[node];
+        int numberOfUntriedChildren = numberOfChildSlots[node] - numberOfExpandedChildren[node];
+        swapIncomingActions(firstUntriedChild, firstUntriedChild + random.nextInt(numberOfUntriedChildren));
+        representedStates[firstUntriedChild] = getChildsState(node, firstUntriedChild);
+        numberOfExpandedChildren[node]++;
+        return firstUntriedChild;
+    }
+
+    private void reserveChildSlots(int node) {
+        // the child range is reserved at once, which keeps the children of a node contiguous
+        if (representsIntActionStates)
+            reserveChildSlotsForIntActions(node);
+        else
+            reserveChildSlotsForActions(node);
+    }
+
+    private void reserveChildSlotsForActions(int node) {
+        StateT state = getRepresentedState(node);
+        List<ActionT> availableActions = state.getAvailableActionsForCurrentAgent();
+        int numberOfChildren = Math.max(1, availableActions.size());
+        int firstChild = reserveSlots(numberOfChildren);
+        for (int i = 0; i < numberOfChildren; i++) {
+            ActionT incomingAction = availableActions.isEmpty() ? null : availableActions.get(i);
+            initializeSlot(firstChild + i, node, incomingAction);
+        }
+        firstChildIndices[node] = firstChild;
+        numberOfChildSlots[node] = numberOfChildren;
+    }
+
+    private void reserveChildSlotsForIntActions(int node) {
+        MctsIntActionDomainState state = (MctsIntActionDomainState) getRepresentedState(node);
+        int maximumNumberOfAvailableActions = state.getMaximumNumberOfAvailableActions();
+        if (availableIntActions.length < maximumNumberOfAvailableActions)
+            availableIntActions = new int[maximumNumberOfAvailableActions];
+        int numberOfAvailableActions = state.getAvailableActionsForCurrentAgent(availableIntActions);
+        int numberOfChildren = Math.max(1, numberOfAvailableActions);
+        int firstChild = reserveSlots(numberOfChildren);
+        for (int i = 0; i < numberOfChildren; i++) {
+            initializeSlot(firstChild + i, node, null);
+            incomingIntActions[firstChild + i] = numberOfAvailableActions == 0
+                    ? MctsIntActionDomainState.NO_ACTION : availableIntActions[i];
+        }
+        firstChildIndices[node] = firstChild;
+        numberOfChildSlots[node] = numberOfChildren;
+    }
+
+    private int reserveSlots(int numberOfSlots) {
+        ensureCapacity(numberOfNodes + numberOfSlots);
+        int firstSlot = numberOfNodes;
+        numberOfNodes += numberOfSlots;
+        return firstSlot;
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity <= parentIndices.length)
+            return;
+        int capacity = Math.max(requiredCapacity, parentIndices.length * 2);
+        parentIndices = Arrays.copyOf(parentIndices, capacity);
+        firstChildIndices = Arrays.copyOf(firstChildIndices, capacity);
+        numberOfChildSlots = Arrays.copyOf(numberOfChildSlots, capacity);
+        numberOfExpandedChildren = Arrays.copyOf(numberOfExpandedChildren, capacity);
+        visitCounts = Arrays.copyOf(visitCounts, capacity);
+        totalRewards = Arrays.copyOf(totalRewards, capacity);
+        incomingActions = Arrays.copyOf(incomingActions, capacity);
+        incomingIntActions = Arrays.copyOf(incomingIntActions, capacity);
+        representedStates = Arrays.copyOf(representedStates, capacity);
+    }
+
+    private void initializeSlot(int slot, int parentNode, ActionT incomingAction) {
+        parentIndices[slot] = parentNode;
+        firstChildIndices[slot] = NO_NODE;
+        numberOfChildSlots[slot] = 0;
+        numberOfExpandedChildren[slot] = 0;
+        visitCounts[slot] = 0;
+        totalRewards[slot] = 0.0;
+        incomingActions[slot] = incomingAction;
+        representedStates[slot] = null;
+    }
+
+    private void swapIncomingActions(int slot, int otherSlot) {
+        Object incomingAction = incomingActions[slot];
+        incomingActions[slot] = incomingActions[otherSlot];
+        incomingActions[otherSlot] = incomingAction;
+        int incomingIntAction = incomingIntActions[slot];
+        incomingIntActions[slot] = incomingIntActions[otherSlot];
+        incomingIntActions[otherSlot] = incomingIntAction;
+    }
+
+    private StateT getChildsState(int node, int child) {
+        StateT childsState = MctsTreeNode.copyOfState(getRepresentedState(node), cloner);
+        if (representsIntActionStates)
+            performIncomingIntAction(childsState, incomingIntActions[child]);
+        else
+            performIncomingAction(childsState, getIncomingAction(child));
+        return childsState;
+    }
+
+    private void performIncomingAction(StateT state, ActionT incomingAction) {
+        if (incomingAction == null)
+            state.skipCurrentAgent();
+        else
+            state.performActionForCurrentAgent(incomingAction);
+    }
+
+    private void performIncomingIntAction(StateT state, int incomingIntAction) {
+        if (incomingIntAction == MctsIntActionDomainState.NO_ACTION)
+            state.skipCurrentAgent();
+        else
+            ((MctsIntActionDomainState) state).performActionForCurrentAgent(incomingIntAction);
+    }
+
+    protected void updateDomainTheoreticValue(int node, double rewardAddend) {
+        visitCounts[node]++;
+        totalRewards[node] += rewardAddend;
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.nejc92.mcts;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class MctsTreeFile<ActionT> {
+
+    protected static final int ROOT_NODE = 0;
+    private static final int MAGIC_NUMBER = 0x4D435453;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int INCOMING_ACTION_OFFSET = 0;
+    private static final int VISIT_COUNT_OFFSET = INCOMING_ACTION_OFFSET + Long.BYTES;
+    private static final int TOTAL_REWARD_OFFSET = VISIT_COUNT_OFFSET + Integer.BYTES;
+    private static final int FIRST_CHILD_OFFSET = TOTAL_REWARD_OFFSET + Double.BYTES;
+    private static final int NUMBER_OF_CHILDREN_OFFSET = FIRST_CHILD_OFFSET + Integer.BYTES;
+    private static final int RECORD_SIZE = NUMBER_OF_CHILDREN_OFFSET + Integer.BYTES;
+    // a mapped buffer is limited to 2 GB, so larger files are mapped in segments
+    private static final int RECORDS_PER_SEGMENT_SHIFT = 26;
+    private static final int RECORDS_PER_SEGMENT = 1 << RECORDS_PER_SEGMENT_SHIFT;
+    private static final long NO_ENCODED_ACTION = Long.MIN_VALUE;
+
+    private final MappedByteBuffer[] segments;
+    private final int numberOfNodes;
+    private final MctsActionCodec<ActionT> actionCodec;
+
+    private MctsTreeFile(MappedByteBuffer[] segments, int numberOfNodes, MctsActionCodec<ActionT> actionCodec) {
+        this.segments = segments;
+        this.numberOfNodes = numberOfNodes;
+        this.actionCodec = actionCodec;
+    }
+
+    protected static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+        void write(MctsTreeNode<StateT, ActionT, AgentT> rootNode, Path path, MctsActionCodec<ActionT> actionCodec,
+                   int numberOfPlies) throws IOException {
+            int numberOfNodes = getNumberOfNodesUpToPly(rootNode, numberOfPlies);
+            try (DataOutputStream output =
+                         new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+                output.writeInt(MAGIC_NUMBER);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(numberOfNodes);
+                // nodes are written breadth first, which stores the children of every node contiguously
+                List<MctsTreeNode<StateT, ActionT, AgentT>> nodesOfPly = Collections.singletonList(rootNode);
+                int nextChildIndex = ROOT_NODE + 1;
+                for (int ply = 0; !nodesOfPly.isEmpty(); ply++) {
+                    List<MctsTreeNode<StateT, ActionT, AgentT>> nodesOfNextPly = new ArrayList<>();
+                    for (MctsTreeNode<StateT, ActionT, AgentT> node : nodesOfPly) {
+                        List<MctsTreeNode<StateT, ActionT, AgentT>> childNodes =
+                                ply < numberOfPlies ? node.getChildNodes() : Collections.emptyList();
+                        output.writeLong(node == rootNode ? NO_ENCODED_ACTION : encodeAction(node, actionCodec));
+                        output.writeInt(node.getVisitCount());
+                        output.writeDouble(node.getTotalReward());
+                        output.writeInt(nextChildIndex);
+                        output.writeInt(childNodes.size());
+                        nextChildIndex += childNodes.size();
+                        nodesOfNextPly.addAll(childNodes);
+                    }
+                    nodesOfPly = nodesOfNextPly;
+                }
+            }
+    }
+
+    private static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+        int getNumberOfNodesUpToPly(MctsTreeNode<StateT, ActionT, AgentT> rootNode, int numberOfPlies) {
+            List<MctsTreeNode<StateT, ActionT, AgentT>> nodesOfPly = Collections.singletonList(rootNode);
+            int numberOfNodes = 1;
+            for (int ply = 0; ply < numberOfPlies && !nodesOfPly.isEmpty(); ply++) {
+                List<MctsTreeNode<StateT, ActionT, AgentT>> nodesOfNextPly = new ArrayList<>();
+                for (MctsTreeNode<StateT, ActionT, AgentT> node : nodesOfPly)
+                    nodesOfNextPly.addAll(node.getChildNodes());
+                numberOfNodes += nodesOfNextPly.size();
+                nodesOfPly = nodesOfNextPly;
+            }
+            return numberOfNodes;
+    }
+
+    private static <ActionT> long encodeAction(MctsTreeNode<?, ActionT, ?> node, MctsActionCodec<ActionT> actionCodec) {
+        if (node.getIncomingAction() == null)
+            return NO_ENCODED_ACTION;
+        long encodedAction = actionCodec.encodeAction(node.getIncomingAction());
+        if (encodedAction == NO_ENCODED_ACTION)
+            throw new IllegalArgumentException("Error: action codec must not encode an action as Long.MIN_VALUE");
+        return encodedAction;
+    }
+
+    protected static <ActionT> MctsTreeFile<ActionT> open(Path path, MctsActionCodec<ActionT> actionCodec)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int readBytes = 0;
+            while (header.hasRemaining() && readBytes >= 0)
+                readBytes = channel.read(header);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE
+                    || header.getInt() != MAGIC_NUMBER || header.getInt() != FORMAT_VERSION)
+                throw new IOException("Error: file does not contain a search tree of a supported format");
+            int numberOfNodes = header.getInt();
+            if (numberOfNodes < 1 || channel.size() != HEADER_SIZE + (long) numberOfNodes * RECORD_SIZE)
+                throw new IOException("Error: search tree file is truncated");
+            // records are only read when the nodes are restored, mapping the file doesn't read it
+            MappedByteBuffer[] segments = new MappedByteBuffer[(numberOfNodes - 1) / RECORDS_PER_SEGMENT + 1];
+            for (int i = 0; i < segments.length; i++) {
+                long firstRecord = (long) i * RECORDS_PER_SEGMENT;
+                long numberOfRecords = Math.min(RECORDS_PER_SEGMENT, numberOfNodes - firstRecord);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + firstRecord * RECORD_SIZE, numberOfRecords * RECORD_SIZE);
+            }
+            return new MctsTreeFile<>(segments, numberOfNodes, actionCodec);
+        }
+    }
+
+    protected int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    protected boolean hasIncomingAction(int node) {
+        return getSegment(node).getLong(getRecordOffset(node) + INCOMING_ACTION_OFFSET) != NO_ENCODED_ACTION;
+    }
+
+    protected ActionT getIncomingAction(int node) {
+        long encodedAction = getSegment(node).getLong(getRecordOffset(node) + INCOMING_ACTION_OFFSET);
+        return encodedAction == NO_ENCODED_ACTION ? null : actionCodec.decodeAction(encodedAction);
+    }
+
+    protected int getVisitCount(int node) {
+        return getSegment(node).getInt(getRecordOffset(node) + VISIT_COUNT_OFFSET);
+    }
+
+    protected double getTotalReward(int node) {
+        return getSegment(node).getDouble(getRecordOffset(node) + TOTAL_REWARD_OFFSET);
+    }
+
+    protected int getFirstChildIndex(int node) {
+        return getSegment(node).getInt(getRecordOffset(node) + FIRST_CHILD_OFFSET);
+    }
+
+    protected int getNumberOfChildren(int node) {
+        return getSegment(node).getInt(getRecordOffset(node) + NUMBER_OF_CHILDREN_OFFSET);
+    }
+
+    private MappedByteBuffer getSegment(int node) {
+        return segments[node >>> RECORDS_PER_SEGMENT_SHIFT];
+    }
+
+    private int getRecordOffset(int node) {
+        return (node & (RECORDS_PER_SEGMENT - 1)) * RECORD_SIZE;
+    }
+}
@@ -3,17 +3,46 @@ package io.github.nejc92.mcts;
 import com.rits.cloning.Cloner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 public class MctsTreeNode<StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent> {
 
-    private final MctsTreeNode<StateT, ActionT, AgentT> parentNode;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<MctsTreeNode> VISIT_COUNT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(MctsTreeNode.class, "visitCount");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MctsTreeNode> TOTAL_REWARD_BITS_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(MctsTreeNode.class, "totalRewardBits");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<MctsTreeNode> AMAF_VISIT_COUNT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(MctsTreeNode.class, "amafVisitCount");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MctsTreeNode> AMAF_TOTAL_REWARD_BITS_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(MctsTreeNode.class, "amafTotalRewardBits");
+    private static final MctsTreeNode<?, ?, ?>[] NO_CHILD_NODES = new MctsTreeNode<?, ?, ?>[0];
+
+    private MctsTreeNode<StateT, ActionT, AgentT> parentNode;
     private final ActionT incomingAction;
-    private final StateT representedState;
-    private int visitCount;
-    private double totalReward;
-    private List<MctsTreeNode<StateT, ActionT, AgentT>> childNodes;
+    private StateT representedState;
+    private MctsDroppedState<AgentT> droppedState;
+    private volatile int visitCount;
+    private volatile long totalRewardBits;
+    private volatile int amafVisitCount;
+    private volatile long amafTotalRewardBits;
+    private double priorProbability;
+    private MctsTreeFile<ActionT> storedTree;
+    private int storedNode;
+    private MctsTreeNode<StateT, ActionT, AgentT>[] childNodes;
+    private volatile int numberOfChildNodes;
+    private volatile List<ActionT> untriedActions;
+    private volatile int numberOfUntriedActions;
+    private int numberOfAvailableActions;
     private final Cloner cloner;
 
     protected MctsTreeNode(StateT representedState, Cloner cloner) {
@@ -26,15 +55,49 @@ public class MctsTreeNode<StateT extends MctsDomainState<ActionT, AgentT>, Actio
         this.incomingAction = incomingAction;
         this.representedState = representedState;
         this.visitCount = 0;
-        this.totalReward = 0.0;
-        this.childNodes = new ArrayList<>();
+        this.totalRewardBits = Double.doubleToRawLongBits(0.0);
+        this.amafVisitCount = 0;
+        this.amafTotalRewardBits = Double.doubleToRawLongBits(0.0);
+        this.childNodes = noChildNodes();
+        this.numberOfChildNodes = 0;
         this.cloner = cloner;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <StateT extends MctsDomainState<ActionT, AgentT>, ActionT, AgentT extends MctsDomainAgent>
+        MctsTreeNode<StateT, ActionT, AgentT>[] noChildNodes() {
+            return (MctsTreeNode<StateT, ActionT, AgentT>[]) NO_CHILD_NODES;
+    }
+
     protected MctsTreeNode<StateT, ActionT, AgentT> getParentNode() {
         return parentNode;
     }
 
+    protected void detachFromParentNode() {
+        // a root has no ancestor to replay its state from
+        if (representedState == null)
+            representedState = getReplayedState();
+        parentNode = null;
+        MctsFlightRecorder.commitRerootEvent(this);
+    }
+
+    protected MctsTreeNode<StateT, ActionT, AgentT> getChildNodeFromAction(ActionT action) {
+        for (MctsTreeNode<StateT, ActionT, AgentT> childNode : getChildNodes()) {
+            if (Objects.equals(childNode.getIncomingAction(), action))
+                return childNode;
+        }
+        return null;
+    }
+
+    protected int getNumberOfNodesInSubtree() {
+        // counts nodes held in memory, children still stored in a tree file are not restored
+        int numberOfNodes = 1;
+        for (int i = 0; i < numberOfChildNodes; i++) {
+            numberOfNodes += childNodes[i].getNumberOfNodesInSubtree();
+        }
+        return numberOfNodes;
+    }
+
     protected ActionT getIncomingAction() {
         return incomingAction;
     }
@@ -43,41 +106,115 @@ public class MctsTreeNode<StateT extends MctsDomainState<ActionT, AgentT>, Actio
         return visitCount;
     }
 
+    protected double getTotalReward() {
+        return Double.longBitsToDouble(totalRewardBits);
+    }
+
     protected int getParentsVisitCount() {
         return parentNode.getVisitCount();
     }
 
     protected List<MctsTreeNode<StateT, ActionT, AgentT>> getChildNodes() {
-        return childNodes;
+        // a copy, selection reads children by index instead
+        int numberOfChildNodes = getNumberOfChildNodes();
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(childNodes, numberOfChildNodes)));
     }
 
-    protected boolean hasChildNodes() {
-        return childNodes.size() > 0;
+    protected int getNumberOfChildNodes() {
+        if (storedTree != null)
+            initializeUntriedActions();
+        return numberOfChildNodes;
+    }
+
+    protected MctsTreeNode<StateT, ActionT, AgentT> getChildNode(int childIndex) {
+        // children below the number of child nodes read before are published in any array read after it
+        return childNodes[childIndex];
     }
 
     protected boolean representsTerminalState() {
-        return representedState.isTerminal();
+        StateT state = representedState;
+        return state != null ? state.isTerminal() : droppedState.isTerminal();
+    }
+
+    protected boolean representsHashableState() {
+        StateT state = representedState;
+        return state != null ? state instanceof MctsHashableDomainState : droppedState.isHashable();
+    }
+
+    protected long getRepresentedStatesHash() {
+        StateT state = representedState;
+        return state != null ? ((MctsHashableDomainState) state).getStateHash() : droppedState.getStateHash();
+    }
+
+    protected AgentT getRepresentedStatesCurrentAgent() {
+        StateT state = representedState;
+        return state != null ? state.getCurrentAgent() : droppedState.getCurrentAgent();
     }
 
     protected AgentT getRepresentedStatesPreviousAgent() {
-        return representedState.getPreviousAgent();
+        StateT state = representedState;
+        return state != null ? state.getPreviousAgent() : droppedState.getPreviousAgent();
     }
 
     protected boolean representedStatesCurrentAgentHasAvailableActions() {
-        return representedState.getNumberOfAvailableActionsForCurrentAgent() > 0;
+        initializeUntriedActions();
+        return numberOfAvailableActions > 0;
+    }
+
+    protected int getNumberOfUntriedActions() {
+        initializeUntriedActions();
+        return numberOfUntriedActions;
     }
 
     protected boolean isFullyExpanded() {
-        return representedState.getNumberOfAvailableActionsForCurrentAgent() == childNodes.size();
+        initializeUntriedActions();
+        return numberOfUntriedActions == 0;
+    }
+
+    private void initializeUntriedActions() {
+        // available actions are requested from the state only once, when the node is first expanded
+        if (untriedActions == null) {
+            synchronized (this) {
+                if (untriedActions == null) {
+                    List<ActionT> availableActions =
+                            new ArrayList<>(getRepresentedState().getAvailableActionsForCurrentAgent());
+                    numberOfAvailableActions = availableActions.size();
+                    ensureChildNodesCapacity(Math.max(1, numberOfAvailableActions));
+                    if (storedTree != null)
+                        restoreStoredChildNodes(availableActions);
+                    numberOfUntriedActions = availableActions.size();
+                    untriedActions = availableActions;
+                }
+            }
+        }
     }
 
-    protected boolean hasUnvisitedChild () {
-        return childNodes.stream()
-                .anyMatch(MctsTreeNode::isUnvisited);
+    private void restoreStoredChildNodes(List<ActionT> availableActions) {
+        // children of a restored node are read from the tree file once the node is first expanded,
+        // their states are replayed and stored children of unavailable actions are ignored
+        int firstChild = storedTree.getFirstChildIndex(storedNode);
+        int lastChild = firstChild + storedTree.getNumberOfChildren(storedNode);
+        for (int child = firstChild; child < lastChild; child++) {
+            ActionT action = storedTree.getIncomingAction(child);
+            boolean childIsAvailable = action == null ? availableActions.isEmpty() : availableActions.remove(action);
+            if (!childIsAvailable)
+                continue;
+            StateT childNodeState = getDeepCloneOfRepresentedState();
+            if (action == null)
+                childNodeState.skipCurrentAgent();
+            else
+                childNodeState.performActionForCurrentAgent(action);
+            appendNewChildInstance(childNodeState, action).restoreFromStoredTree(storedTree, child);
+        }
+        storedTree = null;
     }
 
-    private boolean isUnvisited() {
-        return visitCount == 0;
+    protected void restoreFromStoredTree(MctsTreeFile<ActionT> storedTree, int storedNode) {
+        setStatistics(storedTree.getVisitCount(storedNode), storedTree.getTotalReward(storedNode));
+        if (storedTree.getNumberOfChildren(storedNode) > 0) {
+            this.storedTree = storedTree;
+            this.storedNode = storedNode;
+        }
     }
 
     protected MctsTreeNode<StateT, ActionT, AgentT> addNewChildWithoutAction() {
@@ -87,28 +224,90 @@ public class MctsTreeNode<StateT extends MctsDomainState<ActionT, AgentT>, Actio
     }
 
     protected MctsTreeNode<StateT, ActionT, AgentT> addNewChildFromAction(ActionT action) {
-        if (!isUntriedAction(action))
+        initializeUntriedActions();
+        int untriedActionIndex = untriedActions.indexOf(action);
+        if (untriedActionIndex < 0)
             throw new IllegalArgumentException("Error: invalid action passed as function parameter");
         else
-            return addNewChildFromUntriedAction(action);
+            return addNewChildFromUntriedActionAt(untriedActionIndex);
     }
 
-    private boolean isUntriedAction(ActionT action) {
-        return getUntriedActionsForCurrentAgent().contains(action);
+    protected List<MctsTreeNode<StateT, ActionT, AgentT>> addNewChildrenFromAllUntriedActions() {
+        initializeUntriedActions();
+        List<MctsTreeNode<StateT, ActionT, AgentT>> newChildNodes = new ArrayList<>(numberOfUntriedActions);
+        // the last untried action is removed without swapping
+        while (numberOfUntriedActions > 0)
+            newChildNodes.add(addNewChildFromUntriedActionAt(numberOfUntriedActions - 1));
+        return newChildNodes;
     }
 
-    protected List<ActionT> getUntriedActionsForCurrentAgent() {
-        List<ActionT> availableActions = representedState.getAvailableActionsForCurrentAgent();
-        List<ActionT> untriedActions = new ArrayList<>(availableActions);
-        List<ActionT> triedActions = getTriedActionsForCurrentAgent();
-        untriedActions.removeAll(triedActions);
-        return untriedActions;
+    protected MctsTreeNode<StateT, ActionT, AgentT> addNewChildFromRandomUntriedAction(SplittableRandom random) {
+        initializeUntriedActions();
+        if (numberOfUntriedActions == 0)
+            throw new UnsupportedOperationException("Error: operation not supported if node fully expanded");
+        int untriedActionIndex = random.nextInt(numberOfUntriedActions);
+        return addNewChildFromUntriedActionAt(untriedActionIndex);
+    }
+
+    protected MctsTreeNode<StateT, ActionT, AgentT> addNewChildFromOrderedUntriedAction(
+            MctsActionOrdering<StateT, ActionT> actionOrdering) {
+        initializeUntriedActions();
+        if (numberOfUntriedActions == 0)
+            throw new UnsupportedOperationException("Error: operation not supported if node fully expanded");
+        int untriedActionIndex = actionOrdering.getIndexOfNextUntriedAction(
+                getRepresentedState(), Collections.unmodifiableList(untriedActions));
+        if (untriedActionIndex < 0 || untriedActionIndex >= numberOfUntriedActions)
+            throw new IllegalStateException("Error: action ordering returned an invalid untried action index");
+        return addNewChildFromUntriedActionAt(untriedActionIndex);
+    }
+
+    private MctsTreeNode<StateT, ActionT, AgentT> addNewChildFromUntriedActionAt(int untriedActionIndex) {
+        MctsTreeNode<StateT, ActionT, AgentT> childNode =
+                addNewChildFromUntriedAction(removeUntriedAction(untriedActionIndex));
+        // decremented only once the child is appended, as fully expanded nodes are detected without locking
+        numberOfUntriedActions--;
+        return childNode;
     }
 
-    private List<ActionT> getTriedActionsForCurrentAgent() {
-        return childNodes.stream()
-                .map(MctsTreeNode::getIncomingAction)
-                .collect(Collectors.toList());
+    private ActionT removeUntriedAction(int untriedActionIndex) {
+        // swap with the last untried action, which makes removal constant time
+        int lastIndex = untriedActions.size() - 1;
+        ActionT untriedAction = untriedActions.get(untriedActionIndex);
+        untriedActions.set(untriedActionIndex, untriedActions.get(lastIndex));
+        untriedActions.remove(lastIndex);
+        if (lastIndex == 0)
+            untriedActions = Collections.emptyList();
+        return untriedAction;
+    }
+
+    protected void removeChildNode(MctsTreeNode<StateT, ActionT, AgentT> childNode) {
+        // the action of a removed child becomes untried again, so the child can be expanded anew
+        int childIndex = indexOfChildNode(childNode);
+        if (childIndex < 0)
+            throw new IllegalArgumentException("Error: invalid child node passed as function parameter");
+        System.arraycopy(childNodes, childIndex + 1, childNodes, childIndex, numberOfChildNodes - childIndex - 1);
+        childNodes[numberOfChildNodes - 1] = null;
+        numberOfChildNodes--;
+        childNode.parentNode = null;
+        if (childNode.incomingAction != null) {
+            List<ActionT> restoredUntriedActions = new ArrayList<>(untriedActions);
+            restoredUntriedActions.add(childNode.incomingAction);
+            untriedActions = restoredUntriedActions;
+            numberOfUntriedActions++;
+        }
+    }
+
+    private int indexOfChildNode(MctsTreeNode<StateT, ActionT, AgentT> childNode) {
+        for (int i = 0; i < numberOfChildNodes; i++) {
+            if (childNodes[i] == childNode)
+                return i;
+        }
+        return -1;
+    }
+
+    protected List<ActionT> getUntriedActionsForCurrentAgent() {
+        initializeUntriedActions();
+        return new ArrayList<>(untriedActions);
     }
 
     private MctsTreeNode<StateT, ActionT, AgentT> addNewChildFromUntriedAction(ActionT incomingAction) {
@@ -122,24 +321,131 @@ public class MctsTreeNode<StateT extends MctsDomainState<ActionT, AgentT>, Actio
         return representedStateClone;
     }
 
+    protected StateT getRepresentedState() {
+        // a replayed state isn't kept, so the memory released by dropping it stays released
+        StateT state = representedState;
+        return state != null ? state : getReplayedState();
+    }
+
+    protected boolean holdsRepresentedState() {
+        return representedState != null;
+    }
+
+    protected void dropRepresentedState() {
+        // what is read from the state during selection and backpropagation is kept,
+        // the state itself is replayed from the closest ancestor still holding one if it is needed again
+        if (droppedState == null)
+            droppedState = new MctsDroppedState<>(representedState);
+        representedState = null;
+    }
+
+    private StateT getReplayedState() {
+        List<MctsTreeNode<StateT, ActionT, AgentT>> replayedPath = new ArrayList<>();
+        MctsTreeNode<StateT, ActionT, AgentT> node = this;
+        while (node.representedState == null) {
+            replayedPath.add(node);
+            node = node.parentNode;
+        }
+        StateT replayedState = copyOfState(node.representedState, cloner);
+        for (int i = replayedPath.size() - 1; i >= 0; i--) {
+            ActionT incomingAction = replayedPath.get(i).incomingAction;
+            if (incomingAction == null)
+                replayedState.skipCurrentAgent();
+            else
+                replayedState.performActionForCurrentAgent(incomingAction);
+        }
+        return replayedState;
+    }
+
+    protected Cloner getCloner() {
+        return cloner;
+    }
+
     protected StateT getDeepCloneOfRepresentedState() {
-        return cloner.deepClone(representedState);
+        // a replayed state is already a copy
+        StateT state = representedState;
+        return state != null ? copyOfState(state, cloner) : getReplayedState();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <StateT extends MctsDomainState> StateT copyOfState(StateT state, Cloner cloner) {
+        if (state instanceof MctsCopyableDomainState)
+            return (StateT) ((MctsCopyableDomainState) state).copy();
+        else
+            return cloner.deepClone(state);
     }
 
     private MctsTreeNode<StateT, ActionT, AgentT> appendNewChildInstance(
             StateT representedState, ActionT incomingAction) {
         MctsTreeNode<StateT, ActionT, AgentT> childNode = new MctsTreeNode<>(
                 this, incomingAction, representedState, cloner);
-        childNodes.add(childNode);
+        ensureChildNodesCapacity(numberOfChildNodes + 1);
+        childNodes[numberOfChildNodes] = childNode;
+        // the child is published by the volatile write of the number of child nodes
+        numberOfChildNodes++;
         return childNode;
     }
 
+    private void ensureChildNodesCapacity(int requiredCapacity) {
+        // the array is sized once the available actions are known, so it only grows if a child was added earlier
+        if (childNodes.length < requiredCapacity)
+            childNodes = Arrays.copyOf(childNodes, Math.max(requiredCapacity, 2 * childNodes.length));
+    }
+
     protected void updateDomainTheoreticValue(double rewardAddend) {
-        visitCount += 1;
-        totalReward += rewardAddend;
+        updateDomainTheoreticValueRevertingVirtualLoss(rewardAddend, 0);
+    }
+
+    protected void setStatistics(int visitCount, double totalReward) {
+        this.visitCount = visitCount;
+        this.totalRewardBits = Double.doubleToRawLongBits(totalReward);
+    }
+
+    protected void addVirtualLoss(int virtualLoss) {
+        VISIT_COUNT_UPDATER.addAndGet(this, virtualLoss);
+    }
+
+    protected void revertVirtualLoss(int virtualLoss) {
+        VISIT_COUNT_UPDATER.addAndGet(this, -virtualLoss);
+    }
+
+    protected void updateDomainTheoreticValueRevertingVirtualLoss(double rewardAddend, int virtualLoss) {
+        VISIT_COUNT_UPDATER.addAndGet(this, 1 - virtualLoss);
+        addToRewardBits(TOTAL_REWARD_BITS_UPDATER, rewardAddend);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void addToRewardBits(AtomicLongFieldUpdater<MctsTreeNode> rewardBitsUpdater, double rewardAddend) {
+        long currentBits;
+        long updatedBits;
+        do {
+            currentBits = rewardBitsUpdater.get(this);
+            updatedBits = Double.doubleToRawLongBits(Double.longBitsToDouble(currentBits) + rewardAddend);
+        } while (!rewardBitsUpdater.compareAndSet(this, currentBits, updatedBits));
     }
 
     protected double getDomainTheoreticValue() {
-        return totalReward / visitCount;
+        return getTotalReward() / visitCount;
+    }
+
+    protected void setPriorProbability(double priorProbability) {
+        this.priorProbability = priorProbability;
+    }
+
+    protected double getPriorProbability() {
+        return priorProbability;
+    }
+
+    protected void updateAmafValue(double rewardAddend) {
+        AMAF_VISIT_COUNT_UPDATER.incrementAndGet(this);
+        addToRewardBits(AMAF_TOTAL_REWARD_BITS_UPDATER, rewardAddend);
+    }
+
+    protected int getAmafVisitCount() {
+        return amafVisitCount;
+    }
+
+    protected double getAmafValue() {
+        return Double.longBitsToDouble(amafTotalRewardBits) / amafVisitCount;
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package io.github.nejc92.mcts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class MctsWorkerStatistics<ActionT> {
+
+    private final int numberOfCompletedIterations;
+    private final MctsRootStatistics<ActionT> childStatistics;
+    private final Map<ActionT, MctsRootStatistics<ActionT>> grandchildStatistics;
+
+    protected MctsWorkerStatistics(int numberOfCompletedIterations) {
+        this.numberOfCompletedIterations = numberOfCompletedIterations;
+        this.childStatistics = new MctsRootStatistics<>();
+        this.grandchildStatistics = new LinkedHashMap<>();
+    }
+
+    protected void addChildStatistics(ActionT action, int visitCount, double totalReward) {
+        childStatistics.addActionStatistics(action, visitCount, totalReward);
+    }
+
+    protected void addGrandchildStatistics(ActionT action, ActionT reply, int visitCount, double totalReward) {
+        grandchildStatistics.computeIfAbsent(action, key -> new MctsRootStatistics<>())
+                .addActionStatistics(reply, visitCount, totalReward);
+    }
+
+    protected int getNumberOfCompletedIterations() {
+        return numberOfCompletedIterations;
+    }
+
+    protected MctsRootStatistics<ActionT> getChildStatistics() {
+        return childStatistics;
+    }
+
+    protected Map<ActionT, MctsRootStatistics<ActionT>> getGrandchildStatistics() {
+        return grandchildStatistics;
+    }
+}
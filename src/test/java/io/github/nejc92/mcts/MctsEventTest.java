@@ -0,0 +1,93 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class MctsEventTest {
+
+    private static final int NUMBER_OF_ITERATIONS = 640;
+    private static final int ITERATIONS_BETWEEN_RECORDED_ITERATIONS = 64;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final String SEARCH_EVENT = "io.github.nejc92.mcts.Search";
+    private static final String ITERATION_EVENT = "io.github.nejc92.mcts.Iteration";
+    private static final String REROOT_EVENT = "io.github.nejc92.mcts.Reroot";
+
+    private final Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+    private Recording recording;
+    private Path recordingFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mcts.dontClone(TicTacToePlayer.class);
+        recordingFile = Files.createTempFile("mcts", ".jfr");
+        recording = new Recording();
+        recording.enable(SEARCH_EVENT);
+        recording.enable(ITERATION_EVENT);
+        recording.enable(REROOT_EVENT);
+        recording.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        recording.close();
+        Files.deleteIfExists(recordingFile);
+    }
+
+    @Test
+    public void testSearchIsRecorded() throws IOException {
+        String selectedAction = mcts.uctSearchWithExploration(
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER);
+        List<RecordedEvent> searchEvents = getRecordedEvents(SEARCH_EVENT);
+        assertEquals(1, searchEvents.size());
+        RecordedEvent searchEvent = searchEvents.get(0);
+        assertEquals(NUMBER_OF_ITERATIONS, searchEvent.getInt("numberOfIterations"));
+        assertEquals(selectedAction, searchEvent.getString("selectedAction"));
+        assertTrue(searchEvent.getInt("numberOfCreatedNodes") > 1);
+        assertFalse(searchEvent.getDuration().isNegative());
+    }
+
+    @Test
+    public void testIterationsAreSampled() throws IOException {
+        mcts.arenaUctSearchWithExploration(
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER);
+        List<RecordedEvent> iterationEvents = getRecordedEvents(ITERATION_EVENT);
+        assertEquals(NUMBER_OF_ITERATIONS / ITERATIONS_BETWEEN_RECORDED_ITERATIONS, iterationEvents.size());
+        for (RecordedEvent iterationEvent : iterationEvents) {
+            assertTrue(iterationEvent.getInt("selectionDepth") >= 1);
+        }
+    }
+
+    @Test
+    public void testRerootIsRecorded() throws IOException {
+        MctsSearchSession<TicTacToeState, String, TicTacToePlayer> session =
+                mcts.startSession(TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT));
+        String selectedAction = session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        session.advance(selectedAction);
+        List<RecordedEvent> rerootEvents = getRecordedEvents(REROOT_EVENT);
+        assertEquals(1, rerootEvents.size());
+        assertEquals(selectedAction, rerootEvents.get(0).getString("incomingAction"));
+        assertEquals(session.getRootVisitCount(), rerootEvents.get(0).getInt("retainedVisitCount"));
+    }
+
+    private List<RecordedEvent> getRecordedEvents(String eventName) throws IOException {
+        recording.stop();
+        recording.dump(recordingFile);
+        return RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+    }
+}
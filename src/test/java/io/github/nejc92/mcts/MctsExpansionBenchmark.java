@@ -0,0 +1,51 @@
+package io.github.nejc92.mcts;
+
+import com.rits.cloning.Cloner;
+import io.github.nejc92.mcts.examples.SyntheticGamePlayer;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsExpansionBenchmark {
+
+    private static final int DEPTH = 10;
+    private static final long SEED = 92;
+
+    @Param({"10", "100", "1000"})
+    private int branchingFactor;
+
+    private SyntheticGameState state;
+    private Cloner cloner;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        state = SyntheticGameState.initialize(branchingFactor, DEPTH);
+        cloner = new Cloner();
+        random = new SplittableRandom(SEED);
+    }
+
+    @Benchmark
+    public MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> expandFirstChild() {
+        MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> node = new MctsTreeNode<>(state, cloner);
+        return node.addNewChildFromRandomUntriedAction(random);
+    }
+
+    @Benchmark
+    public MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> expandAllChildren() {
+        MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> node = new MctsTreeNode<>(state, cloner);
+        MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> childNode = null;
+        while (!node.isFullyExpanded()) {
+            childNode = node.addNewChildFromRandomUntriedAction(random);
+        }
+        return childNode;
+    }
+}
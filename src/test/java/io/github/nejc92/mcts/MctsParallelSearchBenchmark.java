@@ -0,0 +1,53 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsParallelSearchBenchmark {
+
+    private static final int NUMBER_OF_ITERATIONS = 5000;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+
+    @Param({"1", "2", "4", "8"})
+    private int numberOfThreads;
+
+    private Mcts<TicTacToeState, String, TicTacToePlayer> mcts;
+    private TicTacToeState state;
+    private ForkJoinPool forkJoinPool;
+
+    @Setup
+    public void setUp() {
+        mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        mcts.dontClone(TicTacToePlayer.class);
+        state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        forkJoinPool = new ForkJoinPool(numberOfThreads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ITERATIONS)
+    public String sequentialSearch() {
+        return mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ITERATIONS)
+    public String treeParallelSearch() {
+        return mcts.treeParallelUctSearchWithExploration(
+                state, EXPLORATION_PARAMETER, numberOfThreads, forkJoinPool);
+    }
+}
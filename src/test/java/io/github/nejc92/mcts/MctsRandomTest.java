@@ -0,0 +1,55 @@
+package io.github.nejc92.mcts;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class MctsRandomTest {
+
+    private static final long SEED = 42;
+
+    @After
+    public void tearDown() {
+        MctsRandom.setCurrent(null);
+    }
+
+    @Test
+    public void testCurrentIsSearchRandom() {
+        SplittableRandom searchRandom = new SplittableRandom(SEED);
+        MctsRandom.setCurrent(searchRandom);
+        assertSame(searchRandom, MctsRandom.current());
+    }
+
+    @Test
+    public void testCurrentOutsideOfSearch() {
+        SplittableRandom threadRandom = MctsRandom.current();
+        assertNotNull(threadRandom);
+        assertSame(threadRandom, MctsRandom.current());
+    }
+
+    @Test
+    public void testSetCurrentReturnsPreviousRandom() {
+        SplittableRandom searchRandom = new SplittableRandom(SEED);
+        assertNull(MctsRandom.setCurrent(searchRandom));
+        assertSame(searchRandom, MctsRandom.setCurrent(null));
+        assertNotSame(searchRandom, MctsRandom.current());
+    }
+
+    @Test
+    public void testGetRandomElementIsReproducible() {
+        MctsRandom.setCurrent(new SplittableRandom(SEED));
+        String firstElement = MctsRandom.getRandomElement(Arrays.asList("0", "1", "2", "3"));
+        MctsRandom.setCurrent(new SplittableRandom(SEED));
+        assertEquals(firstElement, MctsRandom.getRandomElement(Arrays.asList("0", "1", "2", "3")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetRandomElementOfEmptyList() {
+        MctsRandom.getRandomElement(Collections.emptyList());
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MctsResultCacheTest {
+
+    private static final int CAPACITY = 2;
+    private static final int NUMBER_OF_ITERATIONS = 700;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final int REQUIRED_NUMBER_OF_VISITS = 10;
+    private static final int RAVE_EQUIVALENCE_PARAMETER = 100;
+    private static final Object SEARCH_SETTINGS = "settings";
+    private static final Object OTHER_SEARCH_SETTINGS = "other settings";
+
+    private MctsResultCache<String> resultCache;
+
+    @Before
+    public void setUp() {
+        resultCache = new MctsResultCache<>(CAPACITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCapacity() {
+        new MctsResultCache<String>(0);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        assertNull(getCachedResult(1, REQUIRED_NUMBER_OF_VISITS));
+        putCachedResult(1);
+        assertEquals("0", getCachedResult(1, REQUIRED_NUMBER_OF_VISITS).getSelectedAction());
+        assertNotNull(getCachedResult(1, REQUIRED_NUMBER_OF_VISITS + 1));
+        assertNull(resultCache.getCachedResult(
+                1, 2 * EXPLORATION_PARAMETER, SEARCH_SETTINGS, REQUIRED_NUMBER_OF_VISITS));
+        assertNull(resultCache.getCachedResult(
+                1, EXPLORATION_PARAMETER, OTHER_SEARCH_SETTINGS, REQUIRED_NUMBER_OF_VISITS));
+        assertEquals(1, resultCache.getNumberOfHits());
+        assertEquals(1, resultCache.getNumberOfPartialHits());
+        assertEquals(3, resultCache.getNumberOfMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultIsEvicted() {
+        putCachedResult(1);
+        putCachedResult(2);
+        getCachedResult(1, REQUIRED_NUMBER_OF_VISITS);
+        putCachedResult(3);
+        assertEquals(CAPACITY, resultCache.getNumberOfCachedResults());
+        assertNotNull(getCachedResult(1, REQUIRED_NUMBER_OF_VISITS));
+        assertNull(getCachedResult(2, REQUIRED_NUMBER_OF_VISITS));
+        assertNotNull(getCachedResult(3, REQUIRED_NUMBER_OF_VISITS));
+    }
+
+    @Test
+    public void testSearchReturnsCachedResult() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setResultCache(resultCache);
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        String action = mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(1, resultCache.getNumberOfMisses());
+        assertEquals(action, mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        assertEquals(1, resultCache.getNumberOfHits());
+        assertEquals(0, mcts.getNumberOfIterationsOfLastSearch());
+    }
+
+    @Test
+    public void testSearchContinuesFromPartiallyCachedResult() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        Mcts<TicTacToeState, String, TicTacToePlayer> longerMcts = Mcts.initializeIterations(2 * NUMBER_OF_ITERATIONS);
+        mcts.dontClone(TicTacToePlayer.class);
+        longerMcts.dontClone(TicTacToePlayer.class);
+        mcts.setResultCache(resultCache);
+        longerMcts.setResultCache(resultCache);
+        MctsSearchStatsCollector<String> searchStatsCollector = new MctsSearchStatsCollector<>();
+        longerMcts.setSearchListener(searchStatsCollector);
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        longerMcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(1, resultCache.getNumberOfPartialHits());
+        int numberOfRootChildVisits = searchStatsCollector.getSearchStats().getRootChildVisitCounts().values().stream()
+                .mapToInt(Integer::intValue).sum();
+        assertEquals(3 * NUMBER_OF_ITERATIONS, numberOfRootChildVisits);
+        assertEquals(3 * NUMBER_OF_ITERATIONS, resultCache.getCachedResult(state.getStateHash(), EXPLORATION_PARAMETER,
+                longerMcts.getSearchSettingsOfResultCache(), NUMBER_OF_ITERATIONS).getNumberOfVisits());
+    }
+
+    @Test
+    public void testSearchesWithDifferentSettingsDontShareResults() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        Mcts<TicTacToeState, String, TicTacToePlayer> raveMcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        mcts.dontClone(TicTacToePlayer.class);
+        raveMcts.dontClone(TicTacToePlayer.class);
+        raveMcts.enableRave(RAVE_EQUIVALENCE_PARAMETER);
+        mcts.setResultCache(resultCache);
+        raveMcts.setResultCache(resultCache);
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        raveMcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(2, resultCache.getNumberOfMisses());
+        assertEquals(NUMBER_OF_ITERATIONS, raveMcts.getNumberOfIterationsOfLastSearch());
+        mcts.enableRave(RAVE_EQUIVALENCE_PARAMETER);
+        mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(1, resultCache.getNumberOfHits());
+    }
+
+    private MctsResultCache.CachedResult<String> getCachedResult(long stateHash, int requiredNumberOfVisits) {
+        return resultCache.getCachedResult(stateHash, EXPLORATION_PARAMETER, SEARCH_SETTINGS, requiredNumberOfVisits);
+    }
+
+    private void putCachedResult(long stateHash) {
+        MctsRootStatistics<String> rootStatistics = createRootStatistics(REQUIRED_NUMBER_OF_VISITS);
+        resultCache.putCachedResult(stateHash, EXPLORATION_PARAMETER, SEARCH_SETTINGS, "0", rootStatistics);
+    }
+
+    private MctsRootStatistics<String> createRootStatistics(int visitCount) {
+        MctsRootStatistics<String> rootStatistics = new MctsRootStatistics<>();
+        rootStatistics.addActionStatistics("0", visitCount, visitCount / 2.0);
+        return rootStatistics;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.SyntheticGamePlayer;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsRolloutBenchmark {
+
+    private static final int BRANCHING_FACTOR = 10;
+
+    @State(Scope.Benchmark)
+    public static class TicTacToe {
+
+        private TicTacToeState state;
+        private TicTacToeState scratchState;
+
+        @Setup
+        public void setUp() {
+            state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+            scratchState = state.copy();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SyntheticGame {
+
+        @Param({"10", "50"})
+        private int depth;
+
+        private SyntheticGameState state;
+        private SyntheticGameState scratchState;
+
+        @Setup
+        public void setUp() {
+            state = SyntheticGameState.initialize(BRANCHING_FACTOR, depth);
+            scratchState = state.copy();
+        }
+    }
+
+    @Benchmark
+    public double ticTacToeRollout(TicTacToe ticTacToe) {
+        ticTacToe.state.copyInto(ticTacToe.scratchState);
+        TicTacToePlayer agent = ticTacToe.scratchState.getCurrentAgent();
+        TicTacToeState terminalState = agent.getTerminalStateByPerformingSimulationFromState(ticTacToe.scratchState);
+        return agent.getRewardFromTerminalState(terminalState);
+    }
+
+    @Benchmark
+    public double syntheticGameRollout(SyntheticGame syntheticGame) {
+        syntheticGame.state.copyInto(syntheticGame.scratchState);
+        SyntheticGamePlayer agent = syntheticGame.scratchState.getCurrentAgent();
+        SyntheticGameState terminalState = agent.getTerminalStateByPerformingSimulationFromState(
+                syntheticGame.scratchState);
+        return agent.getRewardFromTerminalState(terminalState);
+    }
+}
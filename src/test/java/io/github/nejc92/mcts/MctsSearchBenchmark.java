@@ -0,0 +1,77 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.SyntheticGamePlayer;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsSearchBenchmark {
+
+    private static final int NUMBER_OF_ITERATIONS = 2000;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+
+    @State(Scope.Benchmark)
+    public static class TicTacToe {
+
+        private Mcts<TicTacToeState, String, TicTacToePlayer> mcts;
+        private TicTacToeState state;
+
+        @Setup
+        public void setUp() {
+            mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+            mcts.dontClone(TicTacToePlayer.class);
+            state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SyntheticGame {
+
+        @Param({"10", "100", "1000"})
+        private int branchingFactor;
+
+        @Param({"10", "50"})
+        private int depth;
+
+        private Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> mcts;
+        private SyntheticGameState state;
+
+        @Setup
+        public void setUp() {
+            mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+            state = SyntheticGameState.initialize(branchingFactor, depth);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ITERATIONS)
+    public String ticTacToeSearch(TicTacToe ticTacToe) {
+        return ticTacToe.mcts.uctSearchWithExploration(ticTacToe.state, EXPLORATION_PARAMETER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ITERATIONS)
+    public Integer syntheticGameSearch(SyntheticGame syntheticGame) {
+        return syntheticGame.mcts.uctSearchWithExploration(syntheticGame.state, EXPLORATION_PARAMETER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ITERATIONS)
+    public Integer syntheticGameArenaSearch(SyntheticGame syntheticGame) {
+        return syntheticGame.mcts.arenaUctSearchWithExploration(syntheticGame.state, EXPLORATION_PARAMETER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_OF_ITERATIONS)
+    public int syntheticGameIntActionSearch(SyntheticGame syntheticGame) {
+        return syntheticGame.mcts.intActionUctSearchWithExploration(syntheticGame.state, EXPLORATION_PARAMETER);
+    }
+}
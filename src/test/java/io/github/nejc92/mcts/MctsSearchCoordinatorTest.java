@@ -0,0 +1,264 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToeActionCodec;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import io.github.nejc92.mcts.examples.TicTacToeStateSerializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MctsSearchCoordinatorTest {
+
+    private static final int NUMBER_OF_WORKERS = 2;
+    private static final int NUMBER_OF_ITERATIONS = 700;
+    private static final int NUMBER_OF_ITERATIONS_BETWEEN_REPORTS = 100;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final int SOCKET_TIMEOUT_MILLISECONDS = 100;
+    private static final MctsActionCodec<String> ACTION_CODEC = new TicTacToeActionCodec();
+    private static final MctsStateSerializer<TicTacToeState> STATE_SERIALIZER = new TicTacToeStateSerializer();
+    private static final long WORKER_PROCESS_TIMEOUT_SECONDS = 60;
+
+    // one thread more than the number of workers, for a worker of a test's own coordinator
+    private final ExecutorService workerThreads = Executors.newFixedThreadPool(NUMBER_OF_WORKERS + 1);
+    private final List<MctsSearchWorker<TicTacToeState, String, TicTacToePlayer>> workers = new ArrayList<>();
+    private final List<Future<?>> servingWorkers = new ArrayList<>();
+    private MctsSearchCoordinator<TicTacToeState, String> coordinator;
+
+    @Before
+    public void setUp() throws IOException {
+        coordinator = new MctsSearchCoordinator<>(0, STATE_SERIALIZER, ACTION_CODEC);
+        coordinator.setNumberOfIterationsBetweenReports(NUMBER_OF_ITERATIONS_BETWEEN_REPORTS);
+        String host = InetAddress.getLoopbackAddress().getHostAddress();
+        for (int i = 0; i < NUMBER_OF_WORKERS; i++) {
+            Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+            mcts.dontClone(TicTacToePlayer.class);
+            MctsSearchWorker<TicTacToeState, String, TicTacToePlayer> worker =
+                    new MctsSearchWorker<>(mcts, STATE_SERIALIZER, ACTION_CODEC);
+            workers.add(worker);
+            servingWorkers.add(workerThreads.submit(() -> {
+                worker.connectAndServe(host, coordinator.getPort());
+                return null;
+            }));
+        }
+        coordinator.acceptWorkers(NUMBER_OF_WORKERS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        coordinator.close();
+        workerThreads.shutdownNow();
+    }
+
+    @Test
+    public void testStateSerializer() {
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.CROSS);
+        state.performActionForCurrentAgent("11");
+        state.performActionForCurrentAgent("02");
+        state.performActionForCurrentAgent("20");
+        TicTacToeState deserializedState = STATE_SERIALIZER.deserializeState(STATE_SERIALIZER.serializeState(state));
+        assertEquals(state.getStateHash(), deserializedState.getStateHash());
+    }
+
+    @Test
+    public void testCombinedSearchMergesStatisticsOfWorkers() throws Exception {
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        String combinedAction =
+                coordinator.uctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(combinedAction));
+        assertEquals(NUMBER_OF_WORKERS * NUMBER_OF_ITERATIONS, coordinator.getNumberOfIterationsOfLastSearch());
+        int numberOfRootChildVisits = state.getAvailableActionsForCurrentAgent().stream()
+                .mapToInt(coordinator::getVisitCount)
+                .sum();
+        assertEquals(NUMBER_OF_WORKERS * NUMBER_OF_ITERATIONS, numberOfRootChildVisits);
+        assertEquals(0, coordinator.getVisitCount(combinedAction, "00"));
+        coordinator.close();
+        for (int i = 0; i < NUMBER_OF_WORKERS; i++) {
+            servingWorkers.get(i).get(1, TimeUnit.MINUTES);
+            assertEquals(combinedAction, workers.get(i).getLastCombinedAction());
+        }
+    }
+
+    @Test
+    public void testCombinedSearchWithWorkerProcess() throws Exception {
+        try (MctsSearchCoordinator<TicTacToeState, String> processCoordinator =
+                     new MctsSearchCoordinator<>(0, STATE_SERIALIZER, ACTION_CODEC)) {
+            Process workerProcess = startWorkerProcess(processCoordinator.getPort());
+            try {
+                processCoordinator.setSocketTimeout(WORKER_PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                processCoordinator.acceptWorkers(1);
+                TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+                state.performActionForCurrentAgent("11");
+                String combinedAction =
+                        processCoordinator.uctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+                assertTrue(state.getAvailableActionsForCurrentAgent().contains(combinedAction));
+                assertEquals(NUMBER_OF_ITERATIONS, processCoordinator.getNumberOfIterationsOfLastSearch());
+                processCoordinator.close();
+                assertTrue(workerProcess.waitFor(WORKER_PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                assertEquals(0, workerProcess.exitValue());
+            } finally {
+                workerProcess.destroyForcibly();
+            }
+        }
+    }
+
+    private static Process startWorkerProcess(int port) throws IOException {
+        // the worker runs on the test classpath, with the options the cloner needs on newer jdks
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String jvmArgument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (jvmArgument.startsWith("--add-opens"))
+                command.add(jvmArgument);
+        }
+        command.add(MctsSearchWorkerProcess.class.getName());
+        command.add(String.valueOf(port));
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    @Test
+    public void testGrandchildStatistics() throws IOException {
+        coordinator.enableGrandchildStatistics();
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        String combinedAction =
+                coordinator.uctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+        state.performActionForCurrentAgent(combinedAction);
+        int numberOfReplyVisits = state.getAvailableActionsForCurrentAgent().stream()
+                .mapToInt(reply -> coordinator.getVisitCount(combinedAction, reply))
+                .sum();
+        assertTrue(numberOfReplyVisits > 0);
+        assertTrue(numberOfReplyVisits < coordinator.getVisitCount(combinedAction));
+    }
+
+    @Test
+    public void testSearchesFromSerializedStatesOfGame() throws IOException {
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        while (!state.isTerminal()) {
+            String combinedAction =
+                    coordinator.uctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+            assertTrue(state.getAvailableActionsForCurrentAgent().contains(combinedAction));
+            state.performActionForCurrentAgent(combinedAction);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveNumberOfIterations() throws IOException {
+        coordinator.uctSearchWithExploration(
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER, 0);
+    }
+
+    @Test
+    public void testWorkerFailureIsReported() throws Exception {
+        // the coordinator sends a state the workers can't deserialize
+        MctsStateSerializer<TicTacToeState> truncatingStateSerializer = new MctsStateSerializer<TicTacToeState>() {
+            @Override
+            public byte[] serializeState(TicTacToeState state) {
+                return new byte[0];
+            }
+
+            @Override
+            public TicTacToeState deserializeState(byte[] serializedState) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        try (MctsSearchCoordinator<TicTacToeState, String> failingCoordinator =
+                     new MctsSearchCoordinator<>(0, truncatingStateSerializer, ACTION_CODEC)) {
+            Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+            mcts.dontClone(TicTacToePlayer.class);
+            MctsSearchWorker<TicTacToeState, String, TicTacToePlayer> worker =
+                    new MctsSearchWorker<>(mcts, STATE_SERIALIZER, ACTION_CODEC);
+            String host = InetAddress.getLoopbackAddress().getHostAddress();
+            Future<?> servingWorker = workerThreads.submit(() -> {
+                worker.connectAndServe(host, failingCoordinator.getPort());
+                return null;
+            });
+            failingCoordinator.acceptWorkers(1);
+            try {
+                failingCoordinator.uctSearchWithExploration(TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                        EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+                fail();
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains(BufferUnderflowException.class.getName()));
+            }
+            assertEquals(1, failingCoordinator.getNumberOfWorkers());
+            failingCoordinator.close();
+            servingWorker.get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Test(expected = SocketTimeoutException.class)
+    public void testSocketTimeoutWhileAcceptingWorkers() throws IOException {
+        try (MctsSearchCoordinator<TicTacToeState, String> coordinatorWithoutWorkers =
+                     new MctsSearchCoordinator<>(0, STATE_SERIALIZER, ACTION_CODEC)) {
+            coordinatorWithoutWorkers.setSocketTimeout(SOCKET_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+            coordinatorWithoutWorkers.acceptWorkers(1);
+        }
+    }
+
+    @Test
+    public void testWorkerIsDroppedAfterSocketTimeout() throws IOException {
+        // a worker that never answers would otherwise send reports of the timed out search to the next search
+        try (MctsSearchCoordinator<TicTacToeState, String> coordinatorWithSilentWorker =
+                     new MctsSearchCoordinator<>(0, STATE_SERIALIZER, ACTION_CODEC);
+             Socket silentWorkerSocket =
+                     new Socket(InetAddress.getLoopbackAddress(), coordinatorWithSilentWorker.getPort())) {
+            DataOutputStream silentWorkerOutput = new DataOutputStream(silentWorkerSocket.getOutputStream());
+            MctsSearchProtocol.writeHandshake(silentWorkerOutput);
+            coordinatorWithSilentWorker.acceptWorkers(1);
+            coordinatorWithSilentWorker.setSocketTimeout(SOCKET_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+            TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+            try {
+                coordinatorWithSilentWorker.uctSearchWithExploration(
+                        state, EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+                fail();
+            } catch (SocketTimeoutException e) {
+                assertEquals(0, coordinatorWithSilentWorker.getNumberOfWorkers());
+            }
+            // the coordinator closes the connection of the dropped worker
+            silentWorkerSocket.setSoTimeout((int) TimeUnit.MINUTES.toMillis(1));
+            InputStream silentWorkerInput = silentWorkerSocket.getInputStream();
+            while (silentWorkerInput.read() != -1)
+                continue;
+            try {
+                coordinatorWithSilentWorker.uctSearchWithExploration(
+                        state, EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+                fail();
+            } catch (IllegalStateException e) {
+                assertEquals(0, coordinatorWithSilentWorker.getNumberOfWorkers());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveSocketTimeout() throws IOException {
+        coordinator.setSocketTimeout(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSearchWithoutWorkers() throws IOException {
+        try (MctsSearchCoordinator<TicTacToeState, String> coordinatorWithoutWorkers =
+                     new MctsSearchCoordinator<>(0, STATE_SERIALIZER, ACTION_CODEC)) {
+            coordinatorWithoutWorkers.uctSearchWithExploration(TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                    EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS);
+        }
+    }
+}
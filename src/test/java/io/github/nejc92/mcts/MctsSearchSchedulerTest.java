@@ -0,0 +1,155 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MctsSearchSchedulerTest {
+
+    private static final int NUMBER_OF_WORKERS = 2;
+    private static final int NUMBER_OF_SEARCHES = 8;
+    private static final int NUMBER_OF_ITERATIONS = 700;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final long TIME_LIMIT_SECONDS = 60;
+
+    private MctsSearchScheduler scheduler = new MctsSearchScheduler(NUMBER_OF_WORKERS);
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testScheduledSearchesComplete() {
+        List<Mcts<TicTacToeState, String, TicTacToePlayer>> mctsInstances = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_SEARCHES; i++) {
+            Mcts<TicTacToeState, String, TicTacToePlayer> mcts = createMcts();
+            mctsInstances.add(mcts);
+            results.add(scheduler.uctSearchWithExploration(mcts, TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                    EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS, TIME_LIMIT_SECONDS, TimeUnit.SECONDS));
+        }
+        for (int i = 0; i < NUMBER_OF_SEARCHES; i++) {
+            assertNotNull(results.get(i).join());
+            assertEquals(NUMBER_OF_ITERATIONS, mctsInstances.get(i).getNumberOfIterationsOfLastSearch());
+        }
+        MctsSchedulerStats stats = scheduler.getStats();
+        assertEquals(NUMBER_OF_SEARCHES, stats.getNumberOfSubmittedSearches());
+        assertEquals(NUMBER_OF_SEARCHES, stats.getNumberOfCompletedSearches());
+        assertEquals(0, stats.getNumberOfMissedDeadlines());
+        assertEquals(0, stats.getNumberOfQueuedSearches());
+        assertTrue(stats.getLatencyPercentileNanos(99) >= stats.getLatencyPercentileNanos(50));
+        assertTrue(stats.getLatencyPercentileNanos(50) > 0);
+    }
+
+    @Test
+    public void testTimeLimitEndsSearch() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = createMcts();
+        CompletableFuture<String> result = scheduler.uctSearchWithExploration(mcts,
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER, Integer.MAX_VALUE,
+                50, TimeUnit.MILLISECONDS);
+        assertNotNull(result.join());
+        assertTrue(mcts.getNumberOfIterationsOfLastSearch() < Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testEarliestDeadlineIsSearchedFirst() {
+        scheduler.shutdown();
+        scheduler = new MctsSearchScheduler(1);
+        List<String> completedSearches = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> lateSearch = scheduler.uctSearchWithExploration(createMcts(),
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER, Integer.MAX_VALUE,
+                1, TimeUnit.SECONDS).thenRun(() -> completedSearches.add("late"));
+        CompletableFuture<Void> earlySearch = scheduler.uctSearchWithExploration(createMcts(),
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS,
+                500, TimeUnit.MILLISECONDS).thenRun(() -> completedSearches.add("early"));
+        CompletableFuture.allOf(lateSearch, earlySearch).join();
+        assertEquals(Arrays.asList("early", "late"), completedSearches);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSecondSearchOfSameMcts() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = createMcts();
+        scheduler.uctSearchWithExploration(mcts, TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                EXPLORATION_PARAMETER, Integer.MAX_VALUE, TIME_LIMIT_SECONDS, TimeUnit.SECONDS);
+        scheduler.uctSearchWithExploration(mcts, TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS, TIME_LIMIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testShutdownCancelsSearches() throws InterruptedException {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_SEARCHES; i++) {
+            results.add(scheduler.uctSearchWithExploration(createMcts(),
+                    TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER, Integer.MAX_VALUE,
+                    TIME_LIMIT_SECONDS, TimeUnit.SECONDS));
+        }
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(TIME_LIMIT_SECONDS, TimeUnit.SECONDS));
+        for (CompletableFuture<String> result : results)
+            assertTrue(result.isCancelled());
+        assertEquals(NUMBER_OF_SEARCHES, scheduler.getStats().getNumberOfCancelledSearches());
+    }
+
+    @Test
+    public void testErrorCompletesSearchAndKeepsWorker() throws Exception {
+        scheduler.shutdown();
+        scheduler = new MctsSearchScheduler(1);
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = createMcts();
+        AssertionError error = new AssertionError();
+        mcts.setSearchListener(new MctsSearchListener<String>() {
+            @Override
+            public void iterationCompleted(int selectionDepth, int numberOfCreatedNodes, int numberOfStateCopies,
+                                           long selectionNanos, long expansionNanos, long simulationNanos,
+                                           long backPropagationNanos) {
+                throw error;
+            }
+        });
+        CompletableFuture<String> failedResult = scheduler.uctSearchWithExploration(mcts,
+                TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT), EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS,
+                TIME_LIMIT_SECONDS, TimeUnit.SECONDS);
+        try {
+            // a worker ended by the error would never complete the result
+            failedResult.get(TIME_LIMIT_SECONDS, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+        mcts.removeSearchListener();
+        assertNotNull(scheduler.uctSearchWithExploration(mcts, TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS, TIME_LIMIT_SECONDS, TimeUnit.SECONDS).join());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveNumberOfWorkers() {
+        new MctsSearchScheduler(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveTimeLimit() {
+        scheduler.uctSearchWithExploration(createMcts(), TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT),
+                EXPLORATION_PARAMETER, NUMBER_OF_ITERATIONS, 0, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileOutOfRange() {
+        scheduler.getStats().getLatencyPercentileNanos(0);
+    }
+
+    private Mcts<TicTacToeState, String, TicTacToePlayer> createMcts() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        mcts.dontClone(TicTacToePlayer.class);
+        return mcts;
+    }
+}
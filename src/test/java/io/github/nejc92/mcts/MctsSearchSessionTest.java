@@ -0,0 +1,138 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class MctsSearchSessionTest {
+
+    private static final int NUMBER_OF_ITERATIONS = 700;
+    private static final int NUMBER_OF_GAMES = 20;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+
+    private final Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private MctsSearchSession<TicTacToeState, String, TicTacToePlayer> session;
+
+    @Before
+    public void setUp() {
+        mcts.dontClone(TicTacToePlayer.class);
+        session = mcts.startSession(TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT));
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAdvanceKeepsSubtreeOfPlayedAction() {
+        String action = session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        int playedChildsVisitCount = session.getRootNode().getChildNodeFromAction(action).getVisitCount();
+        session.advance(action);
+        assertEquals(playedChildsVisitCount, session.getRootVisitCount());
+        assertNull(session.getRootNode().getParentNode());
+    }
+
+    @Test
+    public void testSearchContinuesOnReusedTree() {
+        String action = session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        session.advance(action);
+        int reusedVisitCount = session.getRootVisitCount();
+        session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        assertEquals(reusedVisitCount + NUMBER_OF_ITERATIONS, session.getRootVisitCount());
+    }
+
+    @Test
+    public void testAdvanceByUnexpandedAction() {
+        String action = session.getState().getAvailableActionsForCurrentAgent().get(0);
+        session.advance(action);
+        assertEquals(0, session.getRootVisitCount());
+        assertFalse(session.getState().getAvailableActionsForCurrentAgent().contains(action));
+    }
+
+    @Test
+    public void testUctSearchWithTreeReuse() {
+        for (int i = 0; i < NUMBER_OF_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+            session = mcts.startSession(state);
+            while (!state.isTerminal()) {
+                String nextAction = session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+                state.performActionForCurrentAgent(nextAction);
+                session.advance(nextAction);
+            }
+            assertTrue(state.isDraw());
+        }
+    }
+
+    @Test
+    public void testAsyncSearchCompletes() {
+        MctsSearchHandle<String> searchHandle = session.uctSearchWithExplorationAsync(EXPLORATION_PARAMETER, executor);
+        String action = searchHandle.getResult().join();
+        assertTrue(searchHandle.isDone());
+        assertEquals(NUMBER_OF_ITERATIONS, session.getRootVisitCount());
+        assertTrue(session.getState().getAvailableActionsForCurrentAgent().contains(action));
+    }
+
+    @Test
+    public void testStopNowReturnsBestActionOfPondering() throws InterruptedException {
+        MctsSearchHandle<String> searchHandle = session.ponderWithExploration(EXPLORATION_PARAMETER, executor);
+        waitForRootVisits(NUMBER_OF_ITERATIONS);
+        String action = searchHandle.stopNow();
+        assertTrue(searchHandle.isDone());
+        assertTrue(session.getRootNode().getChildNodeFromAction(action).getVisitCount() > 0);
+        assertEquals(action, searchHandle.getResult().join());
+    }
+
+    @Test
+    public void testAdvanceStopsPonderingAndKeepsSubtree() throws InterruptedException {
+        MctsSearchHandle<String> searchHandle = session.ponderWithExploration(EXPLORATION_PARAMETER, executor);
+        waitForRootVisits(NUMBER_OF_ITERATIONS);
+        String opponentsAction = session.getState().getAvailableActionsForCurrentAgent().get(0);
+        session.advance(opponentsAction);
+        assertTrue(searchHandle.isDone());
+        int ponderedVisitCount = session.getRootVisitCount();
+        assertTrue(ponderedVisitCount > 0);
+        session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        assertEquals(ponderedVisitCount + NUMBER_OF_ITERATIONS, session.getRootVisitCount());
+    }
+
+    @Test
+    public void testCancelledSearchLeavesSessionUsable() throws InterruptedException {
+        MctsSearchHandle<String> searchHandle = session.ponderWithExploration(EXPLORATION_PARAMETER, executor);
+        waitForRootVisits(1);
+        assertTrue(searchHandle.cancel());
+        assertTrue(searchHandle.getResult().isCancelled());
+        session.stopRunningSearch();
+        int ponderedVisitCount = session.getRootVisitCount();
+        session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        assertEquals(ponderedVisitCount + NUMBER_OF_ITERATIONS, session.getRootVisitCount());
+    }
+
+    @Test
+    public void testSecondSearchWhilePonderingIsRejected() throws InterruptedException {
+        MctsSearchHandle<String> searchHandle = session.ponderWithExploration(EXPLORATION_PARAMETER, executor);
+        waitForRootVisits(1);
+        try {
+            mcts.uctSearchWithExploration(TicTacToeState.initialize(TicTacToePlayer.Type.CROSS), EXPLORATION_PARAMETER);
+            fail("Search must be rejected while pondering");
+        } catch (IllegalStateException e) {
+            assertFalse(searchHandle.isDone());
+        }
+        session.advance(session.getState().getAvailableActionsForCurrentAgent().get(0));
+        assertTrue(searchHandle.isDone());
+        session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+    }
+
+    private void waitForRootVisits(int numberOfVisits) throws InterruptedException {
+        while (session.getRootVisitCount() < numberOfVisits)
+            Thread.sleep(1);
+    }
+}
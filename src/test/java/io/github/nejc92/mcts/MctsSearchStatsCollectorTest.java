@@ -0,0 +1,133 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class MctsSearchStatsCollectorTest {
+
+    private static final int NUMBER_OF_ITERATIONS = 500;
+    private static final int NUMBER_OF_ITERATIONS_OF_LONG_SEARCH = 20000;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final int NUMBER_OF_THREADS = 4;
+    private static final int NUMBER_OF_TIC_TAC_TOE_POSITIONS = 9;
+
+    private final Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+    private TicTacToeState state;
+
+    @Before
+    public void setUp() {
+        mcts.dontClone(TicTacToePlayer.class);
+        state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+    }
+
+    @Test
+    public void testSearchStats() {
+        MctsSearchStats<String> searchStats = mcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+        assertSearchStatsOfCompleteSearch(searchStats);
+        // tic-tac-toe states are copied into a reused scratch state before rollouts
+        assertEquals(searchStats.getNumberOfCreatedNodes(), searchStats.getNumberOfStateCopies());
+    }
+
+    @Test
+    public void testSearchStatsOfTreeParallelSearch() {
+        MctsSearchStatsCollector<String> searchStatsCollector = new MctsSearchStatsCollector<>();
+        mcts.setSearchListener(searchStatsCollector);
+        mcts.treeParallelUctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_THREADS);
+        assertSearchStatsOfCompleteSearch(searchStatsCollector.getSearchStats());
+    }
+
+    @Test
+    public void testSearchStatsOfArenaSearch() {
+        MctsSearchStatsCollector<String> searchStatsCollector = new MctsSearchStatsCollector<>();
+        mcts.setSearchListener(searchStatsCollector);
+        mcts.arenaUctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertSearchStatsOfCompleteSearch(searchStatsCollector.getSearchStats());
+    }
+
+    @Test
+    public void testCollectorIsResetBetweenSearches() {
+        MctsSearchStatsCollector<String> searchStatsCollector = new MctsSearchStatsCollector<>();
+        mcts.setSearchListener(searchStatsCollector);
+        mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(NUMBER_OF_ITERATIONS, searchStatsCollector.getSearchStats().getNumberOfIterations());
+    }
+
+    @Test
+    public void testRegisteredListenerIsRestored() {
+        MctsSearchStatsCollector<String> searchStatsCollector = new MctsSearchStatsCollector<>();
+        mcts.setSearchListener(searchStatsCollector);
+        mcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+        mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(NUMBER_OF_ITERATIONS, searchStatsCollector.getSearchStats().getNumberOfIterations());
+    }
+
+    @Test
+    public void testRejectedSearchKeepsListenerOfRunningSearch() throws Exception {
+        // searches with stats are rejected while another search runs, without taking over its listener
+        Mcts<TicTacToeState, String, TicTacToePlayer> longMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS_OF_LONG_SEARCH);
+        longMcts.dontClone(TicTacToePlayer.class);
+        AtomicInteger numberOfNotifiedIterations = new AtomicInteger();
+        CountDownLatch searchStarted = new CountDownLatch(1);
+        longMcts.setSearchListener(new MctsSearchListener<String>() {
+            @Override
+            public void searchStarted() {
+                searchStarted.countDown();
+            }
+
+            @Override
+            public void iterationCompleted(int selectionDepth, int numberOfCreatedNodes, int numberOfStateCopies,
+                                           long selectionNanos, long expansionNanos, long simulationNanos,
+                                           long backPropagationNanos) {
+                numberOfNotifiedIterations.incrementAndGet();
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> runningSearch =
+                    executor.submit(() -> longMcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+            searchStarted.await();
+            while (!runningSearch.isDone()) {
+                try {
+                    longMcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+                } catch (IllegalStateException e) {
+                    continue;
+                }
+            }
+            runningSearch.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(NUMBER_OF_ITERATIONS_OF_LONG_SEARCH, numberOfNotifiedIterations.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSearchStatsBeforeSearch() {
+        new MctsSearchStatsCollector<String>().getSearchStats();
+    }
+
+    private void assertSearchStatsOfCompleteSearch(MctsSearchStats<String> searchStats) {
+        assertEquals(NUMBER_OF_ITERATIONS, searchStats.getNumberOfIterations());
+        assertTrue(searchStats.getIterationsPerSecond() > 0);
+        assertTrue(searchStats.getSimulationNanos() > 0);
+        assertTrue(searchStats.getMaxSelectionDepth() >= searchStats.getAverageSelectionDepth());
+        assertTrue(searchStats.getAverageSelectionDepth() >= 1);
+        assertTrue(searchStats.getNumberOfCreatedNodes() <= NUMBER_OF_ITERATIONS);
+        assertEquals(NUMBER_OF_TIC_TAC_TOE_POSITIONS, searchStats.getRootChildVisitCounts().size());
+        assertTrue(searchStats.getRootChildVisitCounts().containsKey(searchStats.getSelectedAction()));
+        int sumOfRootChildVisitCounts = searchStats.getRootChildVisitCounts().values().stream()
+                .mapToInt(Integer::intValue).sum();
+        assertEquals(NUMBER_OF_ITERATIONS, sumOfRootChildVisitCounts);
+    }
+}
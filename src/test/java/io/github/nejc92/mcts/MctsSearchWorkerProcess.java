@@ -0,0 +1,23 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToeActionCodec;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import io.github.nejc92.mcts.examples.TicTacToeStateSerializer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+// a tic-tac-toe worker run in its own process, it serves the coordinator listening on the port given as argument
+public class MctsSearchWorkerProcess {
+
+    private static final int NUMBER_OF_ITERATIONS = 700;
+
+    public static void main(String[] args) throws IOException {
+        Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        mcts.dontClone(TicTacToePlayer.class);
+        MctsSearchWorker<TicTacToeState, String, TicTacToePlayer> worker =
+                new MctsSearchWorker<>(mcts, new TicTacToeStateSerializer(), new TicTacToeActionCodec());
+        worker.connectAndServe(InetAddress.getLoopbackAddress().getHostAddress(), Integer.parseInt(args[0]));
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.nejc92.mcts;
+
+import com.rits.cloning.Cloner;
+import io.github.nejc92.mcts.examples.SyntheticGamePlayer;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsSelectionBenchmark {
+
+    private static final int NUMBER_OF_ITERATIONS = 1;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final int DEPTH = 10;
+    private static final long SEED = 92;
+
+    @Param({"10", "100", "1000"})
+    private int numberOfChildNodes;
+
+    private Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> mcts;
+    private MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> node;
+
+    @Setup
+    public void setUp() {
+        node = new MctsTreeNode<>(SyntheticGameState.initialize(numberOfChildNodes, DEPTH), new Cloner());
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < numberOfChildNodes; i++) {
+            MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> childNode = node.addNewChildFromRandomUntriedAction(random);
+            int childsVisitCount = 1 + random.nextInt(100);
+            for (int j = 0; j < childsVisitCount; j++) {
+                childNode.updateDomainTheoreticValue(random.nextDouble());
+                node.updateDomainTheoreticValue(0);
+            }
+        }
+        mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        mcts.startSearchWithExploration(EXPLORATION_PARAMETER);
+    }
+
+    @Benchmark
+    public MctsTreeNode<SyntheticGameState, Integer, SyntheticGamePlayer> selectBestChild() {
+        return mcts.getNodesBestChild(node);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.nejc92.mcts;
+
+import com.rits.cloning.Cloner;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsStateCopyBenchmark {
+
+    private TicTacToeState state;
+    private TicTacToeState scratchState;
+    private SyntheticGameState syntheticGameState;
+    private SyntheticGameState syntheticGameScratchState;
+    private Cloner cloner;
+
+    @Setup
+    public void setUp() {
+        state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        state.performActionForCurrentAgent("11");
+        cloner = new Cloner();
+        cloner.dontClone(TicTacToePlayer.class);
+        scratchState = state.copy();
+        syntheticGameState = SyntheticGameState.initialize(100, 10);
+        syntheticGameScratchState = syntheticGameState.copy();
+    }
+
+    @Benchmark
+    public TicTacToeState clonerDeepClone() {
+        return cloner.deepClone(state);
+    }
+
+    @Benchmark
+    public TicTacToeState copyableStateCopy() {
+        return MctsTreeNode.copyOfState(state, cloner);
+    }
+
+    @Benchmark
+    public TicTacToeState reusableStateCopyInto() {
+        state.copyInto(scratchState);
+        return scratchState;
+    }
+
+    @Benchmark
+    public SyntheticGameState syntheticGameClonerDeepClone() {
+        return cloner.deepClone(syntheticGameState);
+    }
+
+    @Benchmark
+    public SyntheticGameState syntheticGameCopy() {
+        return syntheticGameState.copy();
+    }
+
+    @Benchmark
+    public SyntheticGameState syntheticGameCopyInto() {
+        syntheticGameState.copyInto(syntheticGameScratchState);
+        return syntheticGameScratchState;
+    }
+}
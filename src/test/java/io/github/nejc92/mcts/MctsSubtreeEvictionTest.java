@@ -0,0 +1,81 @@
+package io.github.nejc92.mcts;
+
+import com.rits.cloning.Cloner;
+import io.github.nejc92.mcts.examples.StaticState;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class MctsSubtreeEvictionTest {
+
+    private MctsTreeNode<StaticState, String, TicTacToePlayer> rootNode;
+    private MctsTreeNode<StaticState, String, TicTacToePlayer> leftChild;
+    private MctsTreeNode<StaticState, String, TicTacToePlayer> rightChild;
+    private MctsTreeNode<StaticState, String, TicTacToePlayer> leastVisitedGrandchild;
+    private MctsTreeNode<StaticState, String, TicTacToePlayer> mostVisitedGrandchild;
+    private MctsTreeNode<StaticState, String, TicTacToePlayer> rightGrandchild;
+
+    @Before
+    public void setUp() {
+        rootNode = new MctsTreeNode<>(new StaticState(Arrays.asList("0", "1")), new Cloner());
+        leftChild = rootNode.addNewChildFromAction("0");
+        rightChild = rootNode.addNewChildFromAction("1");
+        leastVisitedGrandchild = leftChild.addNewChildFromAction("0");
+        mostVisitedGrandchild = leftChild.addNewChildFromAction("1");
+        rightGrandchild = rightChild.addNewChildFromAction("0");
+        visit(leastVisitedGrandchild, 1);
+        visit(mostVisitedGrandchild, 3);
+        visit(rightGrandchild, 2);
+    }
+
+    private void visit(MctsTreeNode<StaticState, String, TicTacToePlayer> node, int numberOfVisits) {
+        for (int i = 0; i < numberOfVisits; i++) {
+            for (MctsTreeNode<StaticState, String, TicTacToePlayer> pathNode = node; pathNode != null;
+                 pathNode = pathNode.getParentNode()) {
+                pathNode.updateDomainTheoreticValue(1);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastVisitedSubtreeIsEvicted() {
+        int numberOfEvictedNodes = MctsSubtreeEviction.evictLeastVisitedSubtrees(rootNode, rootNode, 1);
+        assertEquals(1, numberOfEvictedNodes);
+        assertEquals(Collections.singletonList(mostVisitedGrandchild), leftChild.getChildNodes());
+        assertEquals(Collections.singletonList("0"), leftChild.getUntriedActionsForCurrentAgent());
+        assertEquals(Collections.singletonList(rightGrandchild), rightChild.getChildNodes());
+    }
+
+    @Test
+    public void testPathOfProtectedNodeIsKept() {
+        int numberOfEvictedNodes = MctsSubtreeEviction.evictLeastVisitedSubtrees(rootNode, leastVisitedGrandchild, 2);
+        assertEquals(2, numberOfEvictedNodes);
+        assertEquals(Collections.singletonList(leastVisitedGrandchild), leftChild.getChildNodes());
+        assertTrue(rightChild.getChildNodes().isEmpty());
+    }
+
+    @Test
+    public void testDescendantOfEvictedSubtreeIsCountedOnce() {
+        // the right grandchild and its child have the same number of visits, so the grandchild may be evicted first
+        MctsTreeNode<StaticState, String, TicTacToePlayer> rightGreatGrandchild =
+                rightGrandchild.addNewChildFromAction("0");
+        rightGreatGrandchild.updateDomainTheoreticValue(1);
+        rightGreatGrandchild.updateDomainTheoreticValue(1);
+        int numberOfEvictedNodes = MctsSubtreeEviction.evictLeastVisitedSubtrees(rootNode, rootNode, 10);
+        assertEquals(4, numberOfEvictedNodes);
+        assertTrue(leftChild.getChildNodes().isEmpty());
+        assertTrue(rightChild.getChildNodes().isEmpty());
+    }
+
+    @Test
+    public void testChildrenOfRootAreKept() {
+        int numberOfEvictedNodes = MctsSubtreeEviction.evictLeastVisitedSubtrees(rootNode, rootNode, 10);
+        assertEquals(3, numberOfEvictedNodes);
+        assertEquals(Arrays.asList(leftChild, rightChild), rootNode.getChildNodes());
+    }
+}
@@ -1,16 +1,54 @@
 package io.github.nejc92.mcts;
 
+import io.github.nejc92.mcts.examples.SyntheticGamePlayer;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
 import io.github.nejc92.mcts.examples.TicTacToePlayer;
 import io.github.nejc92.mcts.examples.TicTacToeState;
+import com.rits.cloning.Cloner;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class MctsTest {
 
     private static final int NUMBER_OF_ITERATIONS = 700;
     private static final int NUMBER_OF_GAMES = 100;
     private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final int NUMBER_OF_PARALLEL_GAMES = 20;
+    private static final int NUMBER_OF_THREADS = 4;
+    private static final int UNLIMITED_ITERATIONS = Integer.MAX_VALUE;
+    private static final int TIME_LIMIT_MILLISECONDS = 50;
+    private static final int NODE_LIMIT = 20;
+    private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 14;
+    private static final int MEMORY_BOUND = 300;
+    private static final int SYNTHETIC_GAME_BRANCHING_FACTOR = 10;
+    private static final int SYNTHETIC_GAME_DEPTH = 6;
+    private static final int WIDE_SYNTHETIC_GAME_BRANCHING_FACTOR = 1000;
+    private static final double WIDENING_COEFFICIENT = 1;
+    private static final double WIDENING_EXPONENT = 0.5;
+    private static final double RAVE_EQUIVALENCE_PARAMETER = 100;
+    private static final long SEED = 42;
+    private static final int LEAF_EVALUATION_BATCH_SIZE = 16;
+    private static final double PUCT_EXPLORATION_PARAMETER = 2;
+    private static final int FAVOURED_ACTION = 3;
+    private static final int FAILING_ITERATION = 100;
+    private static final int FAILED_SEARCH_TIME_LIMIT_SECONDS = 5;
+    private static final long FAILED_SEARCH_WAIT_MILLISECONDS = 200;
 
     private final Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
     private TicTacToePlayer.Type playerToBegin = TicTacToePlayer.Type.NOUGHT;
@@ -26,6 +64,537 @@ public class MctsTest {
         }
     }
 
+    @Test
+    public void testRootParallelUctSearch() {
+        mcts.dontClone(TicTacToePlayer.class);
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            playOneRootParallelTicTacToeGame(state);
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testUctSearchWithTranspositionTable() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.enableTranspositionTable(TRANSPOSITION_TABLE_CAPACITY);
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            playOneTicTacToeGame(state);
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testArenaUctSearch() {
+        mcts.dontClone(TicTacToePlayer.class);
+        for (int i = 0; i < NUMBER_OF_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            while (!state.isTerminal()) {
+                String nextAction = mcts.arenaUctSearchWithExploration(state, EXPLORATION_PARAMETER);
+                state.performActionForCurrentAgent(nextAction);
+            }
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testIntActionUctSearch() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        SyntheticGameState state = SyntheticGameState.initialize(SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH);
+        while (!state.isTerminal()) {
+            int nextAction = syntheticGameMcts.intActionUctSearchWithExploration(state, EXPLORATION_PARAMETER);
+            assertTrue(nextAction >= 0 && nextAction < SYNTHETIC_GAME_BRANCHING_FACTOR);
+            assertEquals(NUMBER_OF_ITERATIONS, syntheticGameMcts.getNumberOfIterationsOfLastSearch());
+            state.performActionForCurrentAgent(nextAction);
+        }
+        assertEquals(MctsIntActionDomainState.NO_ACTION,
+                syntheticGameMcts.intActionUctSearchWithExploration(state, EXPLORATION_PARAMETER));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntActionUctSearchWithoutIntActionState() {
+        mcts.intActionUctSearchWithExploration(TicTacToeState.initialize(playerToBegin), EXPLORATION_PARAMETER);
+    }
+
+    @Test
+    public void testProgressiveWideningDeepensSearch() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        SyntheticGameState state =
+                SyntheticGameState.initialize(WIDE_SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH);
+        MctsSearchStats<Integer> searchStats =
+                syntheticGameMcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+        assertEquals(1, searchStats.getMaxSelectionDepth());
+        syntheticGameMcts.enableProgressiveWidening(WIDENING_COEFFICIENT, WIDENING_EXPONENT);
+        searchStats = syntheticGameMcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+        assertTrue(searchStats.getMaxSelectionDepth() > 1);
+        assertTrue(searchStats.getRootChildVisitCounts().size()
+                <= Math.ceil(WIDENING_COEFFICIENT * Math.pow(NUMBER_OF_ITERATIONS, WIDENING_EXPONENT)));
+    }
+
+    @Test
+    public void testProgressiveWideningOnArena() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        MctsSearchStatsCollector<Integer> searchStatsCollector = new MctsSearchStatsCollector<>();
+        syntheticGameMcts.setSearchListener(searchStatsCollector);
+        syntheticGameMcts.enableProgressiveWidening(WIDENING_COEFFICIENT, WIDENING_EXPONENT);
+        syntheticGameMcts.arenaUctSearchWithExploration(
+                SyntheticGameState.initialize(WIDE_SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH),
+                EXPLORATION_PARAMETER);
+        assertTrue(searchStatsCollector.getSearchStats().getMaxSelectionDepth() > 1);
+    }
+
+    @Test
+    public void testActionOrderingChoosesExpandedActions() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        syntheticGameMcts.enableProgressiveWidening(WIDENING_COEFFICIENT, WIDENING_EXPONENT);
+        syntheticGameMcts.setActionOrdering((state, untriedActions) ->
+                untriedActions.indexOf(Collections.min(untriedActions)));
+        MctsSearchStats<Integer> searchStats = syntheticGameMcts.uctSearchWithExplorationAndStats(
+                SyntheticGameState.initialize(WIDE_SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH),
+                EXPLORATION_PARAMETER);
+        Set<Integer> expandedActions = searchStats.getRootChildVisitCounts().keySet();
+        for (int action = 0; action < expandedActions.size(); action++) {
+            assertTrue(expandedActions.contains(action));
+        }
+    }
+
+    @Test
+    public void testSeededSearchesBuildSameTree() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        SyntheticGameState state = SyntheticGameState.initialize(SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH);
+        syntheticGameMcts.setSeed(SEED);
+        MctsSearchStats<Integer> searchStats =
+                syntheticGameMcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+        MctsSearchStats<Integer> repeatedSearchStats =
+                syntheticGameMcts.uctSearchWithExplorationAndStats(state, EXPLORATION_PARAMETER);
+        assertEquals(searchStats.getRootChildVisitCounts(), repeatedSearchStats.getRootChildVisitCounts());
+        assertEquals(searchStats.getSelectedAction(), repeatedSearchStats.getSelectedAction());
+        assertEquals(searchStats.getNumberOfCreatedNodes(), repeatedSearchStats.getNumberOfCreatedNodes());
+    }
+
+    @Test
+    public void testSeededRootParallelSearchesBuildSameTrees() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        SyntheticGameState state = SyntheticGameState.initialize(SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH);
+        syntheticGameMcts.setSeed(SEED);
+        MctsSearchStatsCollector<Integer> searchStatsCollector = new MctsSearchStatsCollector<>();
+        syntheticGameMcts.setSearchListener(searchStatsCollector);
+        syntheticGameMcts.rootParallelUctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_THREADS);
+        Map<Integer, Integer> rootChildVisitCounts = searchStatsCollector.getSearchStats().getRootChildVisitCounts();
+        syntheticGameMcts.rootParallelUctSearchWithExploration(state, EXPLORATION_PARAMETER, NUMBER_OF_THREADS);
+        assertEquals(rootChildVisitCounts, searchStatsCollector.getSearchStats().getRootChildVisitCounts());
+    }
+
+    @Test
+    public void testUctSearchWithEarlyTermination() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.enableEarlyTermination();
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            playOneTicTacToeGame(state);
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testEarlyTerminationSavesIterationsOfDecidedSearch() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        SyntheticGameState state = SyntheticGameState.initialize(1, SYNTHETIC_GAME_DEPTH);
+        syntheticGameMcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(0, syntheticGameMcts.getNumberOfIterationsSavedByLastSearch());
+        syntheticGameMcts.enableEarlyTermination();
+        assertEquals(Integer.valueOf(0), syntheticGameMcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        int numberOfSavedIterations = syntheticGameMcts.getNumberOfIterationsSavedByLastSearch();
+        assertTrue(numberOfSavedIterations > 0);
+        assertEquals(NUMBER_OF_ITERATIONS,
+                syntheticGameMcts.getNumberOfIterationsOfLastSearch() + numberOfSavedIterations);
+    }
+
+    @Test
+    public void testEarlyTerminationWithForcedWinAmongCompetingActions() {
+        // crosses complete the top row with 02, the other four actions let the game go on
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setSeed(SEED);
+        TicTacToeState state = createPositionFromActions("00", "11", "01", "22");
+        assertEquals("02", mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        assertEquals(0, mcts.getNumberOfIterationsSavedByLastSearch());
+        mcts.enableEarlyTermination();
+        assertEquals("02", mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        int numberOfSavedIterations = mcts.getNumberOfIterationsSavedByLastSearch();
+        assertTrue(numberOfSavedIterations > 0);
+        assertEquals(NUMBER_OF_ITERATIONS, mcts.getNumberOfIterationsOfLastSearch() + numberOfSavedIterations);
+    }
+
+    @Test
+    public void testEarlyTerminationWithForcedBlockAmongCompetingActions() {
+        // noughts threaten the middle column, so crosses must block with 21 and every other action loses
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setSeed(SEED);
+        TicTacToeState state = createPositionFromActions("00", "11", "22", "01");
+        String selectedAction = mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        mcts.enableEarlyTermination();
+        assertEquals(selectedAction, mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        assertEquals("21", selectedAction);
+        assertEquals(NUMBER_OF_ITERATIONS, mcts.getNumberOfIterationsOfLastSearch()
+                + mcts.getNumberOfIterationsSavedByLastSearch());
+    }
+
+    @Test
+    public void testEarlyTerminationStaysOffWhileRootChildrenCompete() {
+        // every one of the three available actions wins, so their visits stay balanced and no child is decided
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.enableEarlyTermination();
+        TicTacToeState state = createPositionFromActions("00", "10", "11", "12", "01", "20");
+        assertEquals(3, state.getNumberOfAvailableActionsForCurrentAgent());
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(
+                mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER)));
+        assertEquals(0, mcts.getNumberOfIterationsSavedByLastSearch());
+        assertEquals(NUMBER_OF_ITERATIONS, mcts.getNumberOfIterationsOfLastSearch());
+    }
+
+    @Test
+    public void testUctSearchWithRave() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.enableRave(RAVE_EQUIVALENCE_PARAMETER);
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            playOneTicTacToeGame(state);
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRaveWithNonPositiveEquivalenceParameter() {
+        mcts.enableRave(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRaveWithClonedAgentsWithoutValueEquality() {
+        mcts.enableRave(RAVE_EQUIVALENCE_PARAMETER);
+        mcts.uctSearchWithExploration(TicTacToeState.initialize(playerToBegin), EXPLORATION_PARAMETER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPuctSearchWithClonedAgentsWithoutValueEquality() {
+        mcts.setLeafEvaluator(this::evaluateTicTacToeLeafStatesWithRollouts, LEAF_EVALUATION_BATCH_SIZE);
+        mcts.puctSearchWithExploration(TicTacToeState.initialize(playerToBegin), PUCT_EXPLORATION_PARAMETER);
+    }
+
+    @Test
+    public void testAmafValuesOfActionsPlayedLaterInIteration() {
+        Cloner cloner = new Cloner();
+        cloner.dontClone(TicTacToePlayer.class);
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> rootNode = new MctsTreeNode<>(state, cloner);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> selectedChild = rootNode.addNewChildFromAction("00");
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> childPlayedInRollout =
+                rootNode.addNewChildFromAction("01");
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> childNotPlayed = rootNode.addNewChildFromAction("02");
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> grandchild = selectedChild.addNewChildFromAction("11");
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> grandchildPlayedByOtherAgent =
+                selectedChild.addNewChildFromAction("01");
+        MctsRolloutTrace<String, TicTacToePlayer> rolloutTrace = new MctsRolloutTrace<>();
+        rolloutTrace.addAction(state.getCurrentAgent(), "01");
+        rolloutTrace.addAction(state.getPreviousAgent(), "22");
+        mcts.backPropagateAmafValues(grandchild, grandchild.getRepresentedState(), rolloutTrace);
+        assertEquals(1, selectedChild.getAmafVisitCount());
+        assertEquals(1, childPlayedInRollout.getAmafVisitCount());
+        assertEquals(0, childNotPlayed.getAmafVisitCount());
+        assertEquals(1, grandchild.getAmafVisitCount());
+        assertEquals(0, grandchildPlayedByOtherAgent.getAmafVisitCount());
+    }
+
+    @Test
+    public void testPuctSearchWithBatchedRollouts() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setLeafEvaluator(this::evaluateTicTacToeLeafStatesWithRollouts, LEAF_EVALUATION_BATCH_SIZE);
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            while (!state.isTerminal()) {
+                String nextAction = mcts.puctSearchWithExploration(state, PUCT_EXPLORATION_PARAMETER);
+                state.performActionForCurrentAgent(nextAction);
+            }
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    private List<MctsLeafEvaluation<String>> evaluateTicTacToeLeafStatesWithRollouts(List<TicTacToeState> leafStates) {
+        List<MctsLeafEvaluation<String>> leafEvaluations = new ArrayList<>();
+        for (TicTacToeState leafState : leafStates) {
+            TicTacToePlayer currentPlayer = leafState.getCurrentAgent();
+            TicTacToeState terminalState =
+                    currentPlayer.getTerminalStateByPerformingSimulationFromState(leafState.copy());
+            leafEvaluations.add(new MctsLeafEvaluation<>(currentPlayer.getRewardFromTerminalState(terminalState)));
+        }
+        return leafEvaluations;
+    }
+
+    @Test
+    public void testPuctSearchFollowsActionPriorsInBatches() {
+        Mcts<SyntheticGameState, Integer, SyntheticGamePlayer> syntheticGameMcts =
+                Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+        syntheticGameMcts.dontClone(SyntheticGamePlayer.class);
+        Map<Integer, Double> actionPriors = new HashMap<>();
+        for (int action = 0; action < SYNTHETIC_GAME_BRANCHING_FACTOR; action++)
+            actionPriors.put(action, action == FAVOURED_ACTION ? 0.5 : 0.5 / (SYNTHETIC_GAME_BRANCHING_FACTOR - 1));
+        List<Integer> batchSizes = new ArrayList<>();
+        syntheticGameMcts.setLeafEvaluator(leafStates -> {
+            batchSizes.add(leafStates.size());
+            List<MctsLeafEvaluation<Integer>> leafEvaluations = new ArrayList<>();
+            for (int i = 0; i < leafStates.size(); i++)
+                leafEvaluations.add(new MctsLeafEvaluation<>(0.5, actionPriors));
+            return leafEvaluations;
+        }, LEAF_EVALUATION_BATCH_SIZE);
+        SyntheticGameState state = SyntheticGameState.initialize(SYNTHETIC_GAME_BRANCHING_FACTOR, SYNTHETIC_GAME_DEPTH);
+        assertEquals(Integer.valueOf(FAVOURED_ACTION),
+                syntheticGameMcts.puctSearchWithExploration(state, PUCT_EXPLORATION_PARAMETER));
+        assertEquals(NUMBER_OF_ITERATIONS, syntheticGameMcts.getNumberOfIterationsOfLastSearch());
+        assertTrue(batchSizes.stream().allMatch(batchSize -> batchSize <= LEAF_EVALUATION_BATCH_SIZE));
+        assertTrue(batchSizes.stream().anyMatch(batchSize -> batchSize > 1));
+    }
+
+    @Test
+    public void testPuctSearchStopsExpandingAtMemoryBound() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setMemoryBound(MEMORY_BOUND);
+        mcts.setLeafEvaluator(this::evaluateTicTacToeLeafStatesWithRollouts, LEAF_EVALUATION_BATCH_SIZE);
+        TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+        assertNotNull(mcts.puctSearchWithExploration(state, PUCT_EXPLORATION_PARAMETER));
+        assertEquals(NUMBER_OF_ITERATIONS, mcts.getNumberOfIterationsOfLastSearch());
+        assertTrue(mcts.getNumberOfNodesOfLastSearch() <= MEMORY_BOUND);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPuctSearchWithoutLeafEvaluator() {
+        mcts.puctSearchWithExploration(TicTacToeState.initialize(playerToBegin), PUCT_EXPLORATION_PARAMETER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLeafEvaluatorWithNonPositiveBatchSize() {
+        mcts.setLeafEvaluator(leafStates -> Collections.emptyList(), 0);
+    }
+
+    @Test
+    public void testTreeParallelUctSearch() {
+        mcts.dontClone(TicTacToePlayer.class);
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            playOneTreeParallelTicTacToeGame(state);
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testTreeParallelUctSearchWithTranspositionTable() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.enableTranspositionTable(TRANSPOSITION_TABLE_CAPACITY);
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            playOneTreeParallelTicTacToeGame(state);
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testTreeParallelSelectionReadsTranspositionTable() {
+        // the node of the center looks like the worst child, while the table knows its state as the best one
+        Cloner cloner = new Cloner();
+        cloner.dontClone(TicTacToePlayer.class);
+        TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> rootNode = new MctsTreeNode<>(state, cloner);
+        for (String action : state.getAvailableActionsForCurrentAgent())
+            rootNode.addNewChildFromAction(action).setStatistics(10, 5);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> centerNode = rootNode.getChildNodeFromAction("11");
+        centerNode.setStatistics(10, 1);
+        rootNode.setStatistics(sumOfChildrensVisitCounts(rootNode), 0);
+        Mcts<TicTacToeState, String, TicTacToePlayer> singleIterationMcts = Mcts.initializeIterations(1);
+        singleIterationMcts.enableTranspositionTable(TRANSPOSITION_TABLE_CAPACITY);
+        for (int i = 0; i < centerNode.getVisitCount(); i++)
+            singleIterationMcts.getTranspositionTable().updateDomainTheoreticValue(
+                    centerNode.getRepresentedStatesHash(), 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            singleIterationMcts.searchSharedTree(rootNode, 1, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(11, centerNode.getVisitCount());
+    }
+
+    @Test
+    public void testFailedRootParallelSearchStopsAllTrees() throws InterruptedException {
+        AtomicInteger numberOfIterations = new AtomicInteger();
+        Mcts<TicTacToeState, String, TicTacToePlayer> failingMcts = createMctsFailingAfterIterations(numberOfIterations);
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        try {
+            failingMcts.rootParallelUctSearchWithExploration(
+                    TicTacToeState.initialize(playerToBegin), EXPLORATION_PARAMETER, NUMBER_OF_THREADS, executor);
+            fail();
+        } catch (IllegalStateException e) {
+            assertNoIterationsAfterFailedSearch(numberOfIterations);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedTreeParallelSearchStopsAllWorkers() throws InterruptedException {
+        AtomicInteger numberOfIterations = new AtomicInteger();
+        Mcts<TicTacToeState, String, TicTacToePlayer> failingMcts = createMctsFailingAfterIterations(numberOfIterations);
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        try {
+            failingMcts.treeParallelUctSearchWithExploration(
+                    TicTacToeState.initialize(playerToBegin), EXPLORATION_PARAMETER, NUMBER_OF_THREADS, executor);
+            fail();
+        } catch (IllegalStateException e) {
+            assertNoIterationsAfterFailedSearch(numberOfIterations);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTreeParallelVisitCountConsistency() {
+        Cloner cloner = new Cloner();
+        cloner.dontClone(TicTacToePlayer.class);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> rootNode =
+                new MctsTreeNode<>(TicTacToeState.initialize(playerToBegin), cloner);
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        try {
+            mcts.setVirtualLoss(3);
+            mcts.searchSharedTree(rootNode, NUMBER_OF_THREADS, executor);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(NUMBER_OF_ITERATIONS, rootNode.getVisitCount());
+        assertEquals(NUMBER_OF_ITERATIONS, sumOfChildrensVisitCounts(rootNode));
+        assertSubtreeVisitCountsConsistent(rootNode);
+    }
+
+    private int sumOfChildrensVisitCounts(MctsTreeNode<TicTacToeState, String, TicTacToePlayer> node) {
+        return node.getChildNodes().stream()
+                .mapToInt(MctsTreeNode::getVisitCount)
+                .sum();
+    }
+
+    private void assertSubtreeVisitCountsConsistent(MctsTreeNode<TicTacToeState, String, TicTacToePlayer> node) {
+        assertTrue(node.getVisitCount() >= sumOfChildrensVisitCounts(node));
+        for (MctsTreeNode<TicTacToeState, String, TicTacToePlayer> childNode : node.getChildNodes()) {
+            assertTrue(childNode.getVisitCount() > 0);
+            assertSubtreeVisitCountsConsistent(childNode);
+        }
+    }
+
+    @Test
+    public void testSearchStopsAtTimeLimit() {
+        Mcts<TicTacToeState, String, TicTacToePlayer> timeLimitedMcts =
+                Mcts.initializeIterations(UNLIMITED_ITERATIONS);
+        timeLimitedMcts.dontClone(TicTacToePlayer.class);
+        timeLimitedMcts.setTimeLimit(TIME_LIMIT_MILLISECONDS, TimeUnit.MILLISECONDS);
+        TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+        String action = timeLimitedMcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(timeLimitedMcts.getNumberOfIterationsOfLastSearch() > 0);
+    }
+
+    @Test
+    public void testSearchStopsAtNodeLimit() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setNodeLimit(NODE_LIMIT);
+        TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+        String action = mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertEquals(NODE_LIMIT - 1, mcts.getNumberOfIterationsOfLastSearch());
+    }
+
+    @Test
+    public void testUctSearchStopsExpandingAtMemoryBound() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setMemoryBound(MEMORY_BOUND);
+        MctsSearchSession<TicTacToeState, String, TicTacToePlayer> session =
+                mcts.startSession(TicTacToeState.initialize(playerToBegin));
+        assertNotNull(session.uctSearchWithExploration(EXPLORATION_PARAMETER));
+        assertEquals(NUMBER_OF_ITERATIONS, mcts.getNumberOfIterationsOfLastSearch());
+        assertEquals(MEMORY_BOUND, session.getRootNode().getNumberOfNodesInSubtree());
+    }
+
+    @Test
+    public void testUctSearchWithSubtreeEvictionAndStateDropping() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setMemoryBound(MEMORY_BOUND);
+        mcts.enableSubtreeEviction();
+        mcts.enableStateDropping();
+        for (int i = 0; i < NUMBER_OF_PARALLEL_GAMES; i++) {
+            TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+            MctsSearchSession<TicTacToeState, String, TicTacToePlayer> session = mcts.startSession(state);
+            while (!state.isTerminal()) {
+                String nextAction = session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+                assertTrue(session.getRootNode().getNumberOfNodesInSubtree() <= MEMORY_BOUND);
+                state.performActionForCurrentAgent(nextAction);
+                session.advance(nextAction);
+            }
+            assertTrue(state.isDraw());
+            switchPlayerOrder();
+        }
+    }
+
+    @Test
+    public void testCancelledSearchReturnsAction() {
+        mcts.dontClone(TicTacToePlayer.class);
+        mcts.setCancellationFlag(new AtomicBoolean(true));
+        TicTacToeState state = TicTacToeState.initialize(playerToBegin);
+        String action = mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertNotNull(action);
+        assertEquals(0, mcts.getNumberOfIterationsOfLastSearch());
+    }
+
+    private Mcts<TicTacToeState, String, TicTacToePlayer> createMctsFailingAfterIterations(
+            AtomicInteger numberOfIterations) {
+        // iterations are unlimited, so searching threads that weren't stopped keep running until the time limit
+        Mcts<TicTacToeState, String, TicTacToePlayer> failingMcts = Mcts.initializeIterations(UNLIMITED_ITERATIONS);
+        failingMcts.dontClone(TicTacToePlayer.class);
+        failingMcts.setTimeLimit(FAILED_SEARCH_TIME_LIMIT_SECONDS, TimeUnit.SECONDS);
+        failingMcts.setSearchListener(new MctsSearchListener<String>() {
+            @Override
+            public void iterationCompleted(int selectionDepth, int numberOfCreatedNodes, int numberOfStateCopies,
+                                           long selectionNanos, long expansionNanos, long simulationNanos,
+                                           long backPropagationNanos) {
+                if (numberOfIterations.incrementAndGet() == FAILING_ITERATION)
+                    throw new IllegalStateException("Error: iteration failed");
+            }
+        });
+        return failingMcts;
+    }
+
+    private void assertNoIterationsAfterFailedSearch(AtomicInteger numberOfIterations) throws InterruptedException {
+        int numberOfIterationsOfFailedSearch = numberOfIterations.get();
+        Thread.sleep(FAILED_SEARCH_WAIT_MILLISECONDS);
+        assertEquals(numberOfIterationsOfFailedSearch, numberOfIterations.get());
+    }
+
+    private TicTacToeState createPositionFromActions(String... actions) {
+        TicTacToeState state = TicTacToeState.initialize(TicTacToePlayer.Type.CROSS);
+        for (String action : actions)
+            state.performActionForCurrentAgent(action);
+        return state;
+    }
+
     private void playOneTicTacToeGame(TicTacToeState state) {
         while (!state.isTerminal()) {
             String nextAction = mcts.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
@@ -33,6 +602,22 @@ public class MctsTest {
         }
     }
 
+    private void playOneRootParallelTicTacToeGame(TicTacToeState state) {
+        while (!state.isTerminal()) {
+            String nextAction = mcts.rootParallelUctSearchWithExploration(
+                    state, EXPLORATION_PARAMETER, NUMBER_OF_THREADS);
+            state.performActionForCurrentAgent(nextAction);
+        }
+    }
+
+    private void playOneTreeParallelTicTacToeGame(TicTacToeState state) {
+        while (!state.isTerminal()) {
+            String nextAction = mcts.treeParallelUctSearchWithExploration(
+                    state, EXPLORATION_PARAMETER, NUMBER_OF_THREADS);
+            state.performActionForCurrentAgent(nextAction);
+        }
+    }
+
     private void switchPlayerOrder() {
         switch (playerToBegin) {
             case NOUGHT:
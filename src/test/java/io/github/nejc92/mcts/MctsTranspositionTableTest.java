@@ -0,0 +1,67 @@
+package io.github.nejc92.mcts;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MctsTranspositionTableTest {
+
+    private static final int CAPACITY = 2;
+    private static final double DEFAULT_VALUE = -1;
+    private static final int NUMBER_OF_THREADS = 4;
+    private static final int NUMBER_OF_UPDATES_PER_THREAD = 10000;
+
+    private final MctsTranspositionTable transpositionTable = new MctsTranspositionTable(CAPACITY);
+
+    @Test
+    public void testUpdatesAreSharedByStateHash() {
+        transpositionTable.updateDomainTheoreticValue(7, 1);
+        transpositionTable.updateDomainTheoreticValue(7, 0);
+        assertEquals(2, transpositionTable.getVisitCount(7));
+        assertEquals(0.5, transpositionTable.getDomainTheoreticValue(7, DEFAULT_VALUE), 0);
+        assertEquals(DEFAULT_VALUE, transpositionTable.getDomainTheoreticValue(8, DEFAULT_VALUE), 0);
+    }
+
+    @Test
+    public void testLeastVisitedEntryIsReplaced() {
+        transpositionTable.updateDomainTheoreticValue(1, 1);
+        transpositionTable.updateDomainTheoreticValue(1, 1);
+        transpositionTable.updateDomainTheoreticValue(2, 1);
+        transpositionTable.updateDomainTheoreticValue(3, 0);
+        assertEquals(2, transpositionTable.getVisitCount(1));
+        assertEquals(0, transpositionTable.getVisitCount(2));
+        assertEquals(1, transpositionTable.getVisitCount(3));
+    }
+
+    @Test
+    public void testClear() {
+        transpositionTable.updateDomainTheoreticValue(1, 1);
+        transpositionTable.clear();
+        assertEquals(0, transpositionTable.getVisitCount(1));
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndReads() throws InterruptedException {
+        MctsTranspositionTable sharedTable = new MctsTranspositionTable(1 << 10);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < NUMBER_OF_UPDATES_PER_THREAD; j++) {
+                    sharedTable.updateDomainTheoreticValue(7, 1);
+                    double value = sharedTable.getDomainTheoreticValue(7, 1);
+                    if (value != 1)
+                        throw new AssertionError("Error: inconsistent value " + value);
+                }
+            }));
+        }
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(NUMBER_OF_THREADS * NUMBER_OF_UPDATES_PER_THREAD, sharedTable.getVisitCount(7));
+        assertEquals(1, sharedTable.getDomainTheoreticValue(7, DEFAULT_VALUE), 0);
+    }
+}
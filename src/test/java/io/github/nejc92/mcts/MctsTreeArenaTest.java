@@ -0,0 +1,71 @@
+package io.github.nejc92.mcts;
+
+import com.rits.cloning.Cloner;
+import io.github.nejc92.mcts.examples.StaticState;
+import io.github.nejc92.mcts.examples.SyntheticGamePlayer;
+import io.github.nejc92.mcts.examples.SyntheticGameState;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class MctsTreeArenaTest {
+
+    private static final long SEED = 92;
+
+    private final MctsTreeArena<StaticState, String, TicTacToePlayer> arena = new MctsTreeArena<>(new Cloner());
+    private final SplittableRandom random = new SplittableRandom(SEED);
+
+    @Before
+    public void setUp() {
+        arena.resetWithRootState(new StaticState(Arrays.asList("0", "1", "2")));
+    }
+
+    @Test
+    public void testExpansionKeepsChildrenContiguous() {
+        Set<String> expandedActions = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            assertFalse(arena.isFullyExpanded(MctsTreeArena.ROOT_NODE));
+            int child = arena.expandWithRandomUntriedChild(MctsTreeArena.ROOT_NODE, random);
+            assertEquals(arena.getFirstChildIndex(MctsTreeArena.ROOT_NODE) + i, child);
+            assertEquals(MctsTreeArena.ROOT_NODE, arena.getParentIndex(child));
+            expandedActions.add(arena.getIncomingAction(child));
+        }
+        assertTrue(arena.isFullyExpanded(MctsTreeArena.ROOT_NODE));
+        assertEquals(new HashSet<>(Arrays.asList("0", "1", "2")), expandedActions);
+    }
+
+    @Test
+    public void testExpansionWithIntActions() {
+        MctsTreeArena<SyntheticGameState, Integer, SyntheticGamePlayer> intActionArena =
+                new MctsTreeArena<>(new Cloner());
+        intActionArena.resetWithRootState(SyntheticGameState.initialize(3, 2));
+        Set<Integer> expandedActions = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            int child = intActionArena.expandWithRandomUntriedChild(MctsTreeArena.ROOT_NODE, random);
+            int incomingAction = intActionArena.getIncomingIntAction(child);
+            expandedActions.add(incomingAction);
+            assertEquals(incomingAction, (int) intActionArena.getIncomingAction(child));
+            SyntheticGameState expectedState = SyntheticGameState.initialize(3, 2);
+            expectedState.performActionForCurrentAgent(incomingAction);
+            assertEquals(expectedState.getStateHash(), intActionArena.getRepresentedState(child).getStateHash());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2)), expandedActions);
+    }
+
+    @Test
+    public void testResetDiscardsNodes() {
+        int child = arena.expandWithRandomUntriedChild(MctsTreeArena.ROOT_NODE, random);
+        arena.updateDomainTheoreticValue(child, 1);
+        arena.resetWithRootState(new StaticState(Arrays.asList("0", "1")));
+        assertEquals(1, arena.getNumberOfNodes());
+        assertEquals(0, arena.getVisitCount(MctsTreeArena.ROOT_NODE));
+        assertEquals(MctsTreeArena.NO_NODE, arena.getFirstChildIndex(MctsTreeArena.ROOT_NODE));
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.nejc92.mcts;
+
+import io.github.nejc92.mcts.examples.TicTacToeActionCodec;
+import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class MctsTreeFileTest {
+
+    private static final int NUMBER_OF_ITERATIONS = 700;
+    private static final double EXPLORATION_PARAMETER = 0.4;
+    private static final MctsActionCodec<String> ACTION_CODEC = new TicTacToeActionCodec();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Mcts<TicTacToeState, String, TicTacToePlayer> mcts = Mcts.initializeIterations(NUMBER_OF_ITERATIONS);
+    private TicTacToeState state;
+    private MctsSearchSession<TicTacToeState, String, TicTacToePlayer> session;
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        mcts.dontClone(TicTacToePlayer.class);
+        state = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        session = mcts.startSession(state);
+        session.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        path = temporaryFolder.newFile().toPath();
+    }
+
+    @Test
+    public void testExportedTreeHoldsStatisticsOfEveryNode() throws IOException {
+        session.exportTree(path, ACTION_CODEC);
+        MctsTreeFile<String> treeFile = MctsTreeFile.open(path, ACTION_CODEC);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> rootNode = session.getRootNode();
+        assertEquals(rootNode.getNumberOfNodesInSubtree(), treeFile.getNumberOfNodes());
+        assertEquals(rootNode.getVisitCount(), treeFile.getVisitCount(MctsTreeFile.ROOT_NODE));
+        assertFalse(treeFile.hasIncomingAction(MctsTreeFile.ROOT_NODE));
+        int firstChild = treeFile.getFirstChildIndex(MctsTreeFile.ROOT_NODE);
+        assertEquals(rootNode.getChildNodes().size(), treeFile.getNumberOfChildren(MctsTreeFile.ROOT_NODE));
+        for (int child = firstChild; child < firstChild + rootNode.getChildNodes().size(); child++) {
+            MctsTreeNode<TicTacToeState, String, TicTacToePlayer> childNode =
+                    rootNode.getChildNodeFromAction(treeFile.getIncomingAction(child));
+            assertEquals(childNode.getVisitCount(), treeFile.getVisitCount(child));
+            assertEquals(childNode.getTotalReward(), treeFile.getTotalReward(child), 0);
+        }
+    }
+
+    @Test
+    public void testExportLimitedToPlies() throws IOException {
+        session.exportTree(path, ACTION_CODEC, 1);
+        MctsTreeFile<String> treeFile = MctsTreeFile.open(path, ACTION_CODEC);
+        assertEquals(1 + session.getRootNode().getChildNodes().size(), treeFile.getNumberOfNodes());
+        int firstChild = treeFile.getFirstChildIndex(MctsTreeFile.ROOT_NODE);
+        assertEquals(0, treeFile.getNumberOfChildren(firstChild));
+    }
+
+    @Test
+    public void testSessionFromTreeFileRestoresTreeLazily() throws IOException {
+        session.exportTree(path, ACTION_CODEC);
+        MctsSearchSession<TicTacToeState, String, TicTacToePlayer> restoredSession =
+                mcts.startSessionFromTreeFile(state, path, ACTION_CODEC);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> rootNode = session.getRootNode();
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> restoredRootNode = restoredSession.getRootNode();
+        assertEquals(rootNode.getVisitCount(), restoredSession.getRootVisitCount());
+        for (MctsTreeNode<TicTacToeState, String, TicTacToePlayer> childNode : rootNode.getChildNodes()) {
+            MctsTreeNode<TicTacToeState, String, TicTacToePlayer> restoredChildNode =
+                    restoredRootNode.getChildNodeFromAction(childNode.getIncomingAction());
+            assertEquals(childNode.getVisitCount(), restoredChildNode.getVisitCount());
+            assertEquals(childNode.getTotalReward(), restoredChildNode.getTotalReward(), 0);
+            assertEquals(childNode.getRepresentedStatesHash(), restoredChildNode.getRepresentedStatesHash());
+        }
+        assertEquals(1 + rootNode.getChildNodes().size(), restoredRootNode.getNumberOfNodesInSubtree());
+    }
+
+    @Test
+    public void testSearchContinuesOnRestoredTree() throws IOException {
+        session.exportTree(path, ACTION_CODEC);
+        MctsSearchSession<TicTacToeState, String, TicTacToePlayer> restoredSession =
+                mcts.startSessionFromTreeFile(state, path, ACTION_CODEC);
+        restoredSession.uctSearchWithExploration(EXPLORATION_PARAMETER);
+        assertEquals(session.getRootVisitCount() + NUMBER_OF_ITERATIONS, restoredSession.getRootVisitCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenFileWithoutTree() throws IOException {
+        Files.write(path, new byte[]{1, 2, 3});
+        MctsTreeFile.open(path, ACTION_CODEC);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExportWithNegativeNumberOfPlies() throws IOException {
+        session.exportTree(path, ACTION_CODEC, -1);
+    }
+}
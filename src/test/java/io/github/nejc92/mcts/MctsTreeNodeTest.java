@@ -3,18 +3,28 @@ package io.github.nejc92.mcts;
 import com.rits.cloning.Cloner;
 import io.github.nejc92.mcts.examples.StaticState;
 import io.github.nejc92.mcts.examples.TicTacToePlayer;
+import io.github.nejc92.mcts.examples.TicTacToeState;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
 public class MctsTreeNodeTest {
 
     // private static final double EXPLORATION_PARAMETER = 0.6;
+    private static final int NUMBER_OF_THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 10000;
+    private static final int VIRTUAL_LOSS = 3;
 
     private List<String> allPossibleActions;
     private List<String> availableActions;
@@ -64,6 +74,107 @@ public class MctsTreeNodeTest {
         rootNode.addNewChildFromAction(availableActions.get(0));
     }
 
+    @Test
+    public void testOrderedUntriedActionIsExpanded() {
+        MctsTreeNode<StaticState, String, TicTacToePlayer> child = rootNode.addNewChildFromOrderedUntriedAction(
+                (state, untriedActions) -> untriedActions.indexOf(availableActions.get(1)));
+        assertEquals(availableActions.get(1), child.getIncomingAction());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOrderedUntriedActionWithInvalidIndex() {
+        rootNode.addNewChildFromOrderedUntriedAction((state, untriedActions) -> untriedActions.size());
+    }
+
+    @Test
+    public void testRemovedChildsActionIsUntriedAgain() {
+        MctsTreeNode<StaticState, String, TicTacToePlayer> child =
+                rootNode.addNewChildFromAction(availableActions.get(0));
+        rootNode.addNewChildFromAction(availableActions.get(1));
+        rootNode.removeChildNode(child);
+        assertFalse(rootNode.isFullyExpanded());
+        assertNull(child.getParentNode());
+        assertEquals(Arrays.asList(availableActions.get(0)), rootNode.getUntriedActionsForCurrentAgent());
+        rootNode.addNewChildFromAction(availableActions.get(0));
+        assertTrue(rootNode.isFullyExpanded());
+    }
+
+    @Test
+    public void testAddNewChildrenFromAllUntriedActions() {
+        List<MctsTreeNode<StaticState, String, TicTacToePlayer>> childNodes =
+                rootNode.addNewChildrenFromAllUntriedActions();
+        assertEquals(availableActions.size(), childNodes.size());
+        assertEquals(childNodes.size(), rootNode.getChildNodes().size());
+        assertTrue(rootNode.isFullyExpanded());
+        Set<String> incomingActions = new HashSet<>();
+        for (MctsTreeNode<StaticState, String, TicTacToePlayer> childNode : childNodes)
+            incomingActions.add(childNode.getIncomingAction());
+        assertEquals(new HashSet<>(availableActions), incomingActions);
+    }
+
+    @Test
+    public void testChildNodesByIndex() {
+        MctsTreeNode<StaticState, String, TicTacToePlayer> firstChild =
+                rootNode.addNewChildFromAction(availableActions.get(0));
+        List<MctsTreeNode<StaticState, String, TicTacToePlayer>> childNodes = rootNode.getChildNodes();
+        MctsTreeNode<StaticState, String, TicTacToePlayer> secondChild =
+                rootNode.addNewChildFromAction(availableActions.get(1));
+        assertEquals(Arrays.asList(firstChild), childNodes);
+        assertEquals(2, rootNode.getNumberOfChildNodes());
+        assertSame(firstChild, rootNode.getChildNode(0));
+        assertSame(secondChild, rootNode.getChildNode(1));
+        rootNode.removeChildNode(firstChild);
+        assertEquals(1, rootNode.getNumberOfChildNodes());
+        assertSame(secondChild, rootNode.getChildNode(0));
+    }
+
+    @Test
+    public void testRevertVirtualLoss() {
+        rootNode.addVirtualLoss(VIRTUAL_LOSS);
+        rootNode.revertVirtualLoss(VIRTUAL_LOSS);
+        assertEquals(0, rootNode.getVisitCount());
+        assertEquals(0, rootNode.getTotalReward(), 0);
+    }
+
+    @Test
+    public void testUpdateAmafValue() {
+        rootNode.updateAmafValue(1);
+        rootNode.updateAmafValue(0);
+        assertEquals(2, rootNode.getAmafVisitCount());
+        assertEquals(0.5, rootNode.getAmafValue(), 0);
+        assertEquals(0, rootNode.getVisitCount());
+    }
+
+    @Test
+    public void testDroppedStateIsReplayedFromAncestors() {
+        TicTacToeState ticTacToeState = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> ticTacToeRootNode =
+                new MctsTreeNode<>(ticTacToeState, cloner);
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> child =
+                ticTacToeRootNode.addNewChildFromAction(ticTacToeState.getAvailableActionsForCurrentAgent().get(0));
+        MctsTreeNode<TicTacToeState, String, TicTacToePlayer> grandchild = child.addNewChildFromAction(
+                child.getRepresentedState().getAvailableActionsForCurrentAgent().get(0));
+        long grandchildsStateHash = grandchild.getRepresentedStatesHash();
+        TicTacToePlayer grandchildsPreviousAgent = grandchild.getRepresentedStatesPreviousAgent();
+        child.dropRepresentedState();
+        grandchild.dropRepresentedState();
+        assertFalse(grandchild.holdsRepresentedState());
+        assertEquals(grandchildsStateHash, grandchild.getRepresentedStatesHash());
+        assertEquals(grandchildsPreviousAgent, grandchild.getRepresentedStatesPreviousAgent());
+        assertEquals(grandchildsStateHash, grandchild.getRepresentedState().getStateHash());
+        assertFalse(grandchild.holdsRepresentedState());
+        assertFalse(child.holdsRepresentedState());
+    }
+
+    @Test
+    public void testDetachedNodeHoldsItsState() {
+        MctsTreeNode<StaticState, String, TicTacToePlayer> child =
+                rootNode.addNewChildFromAction(availableActions.get(0));
+        child.dropRepresentedState();
+        child.detachFromParentNode();
+        assertTrue(child.holdsRepresentedState());
+    }
+
     @Test
     public void testIsFullyExpanded() {
         assertFalse(rootNode.isFullyExpanded());
@@ -72,4 +183,38 @@ public class MctsTreeNodeTest {
         rootNode.addNewChildFromAction(availableActions.get(1));
         assertTrue(rootNode.isFullyExpanded());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddNewChildFromRandomUntriedAction() {
+        SplittableRandom random = new SplittableRandom();
+        String firstAction = rootNode.addNewChildFromRandomUntriedAction(random).getIncomingAction();
+        String secondAction = rootNode.addNewChildFromRandomUntriedAction(random).getIncomingAction();
+        assertEquals(new HashSet<>(availableActions), new HashSet<>(Arrays.asList(firstAction, secondAction)));
+        assertTrue(rootNode.isFullyExpanded());
+    }
+
+    @Test(expected= UnsupportedOperationException.class)
+    public void testAddNewChildFromRandomUntriedActionWhenFullyExpanded() {
+        SplittableRandom random = new SplittableRandom();
+        rootNode.addNewChildFromRandomUntriedAction(random);
+        rootNode.addNewChildFromRandomUntriedAction(random);
+        rootNode.addNewChildFromRandomUntriedAction(random);
+    }
+
+    @Test
+    public void testConcurrentUpdatesWithVirtualLoss() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < UPDATES_PER_THREAD; j++) {
+                    rootNode.addVirtualLoss(VIRTUAL_LOSS);
+                    rootNode.updateDomainTheoreticValueRevertingVirtualLoss(0.5, VIRTUAL_LOSS);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(NUMBER_OF_THREADS * UPDATES_PER_THREAD, rootNode.getVisitCount());
+        assertEquals(NUMBER_OF_THREADS * UPDATES_PER_THREAD * 0.5, rootNode.getTotalReward(), 0);
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.nejc92.mcts.examples;
+
+import io.github.nejc92.mcts.MctsDomainAgent;
+import io.github.nejc92.mcts.MctsRandom;
+
+public class SyntheticGamePlayer implements MctsDomainAgent<SyntheticGameState> {
+
+    private final int playerIndex;
+
+    protected SyntheticGamePlayer(int playerIndex) {
+        this.playerIndex = playerIndex;
+    }
+
+    @Override
+    public SyntheticGameState getTerminalStateByPerformingSimulationFromState(SyntheticGameState state) {
+        while (!state.isTerminal()) {
+            int action = MctsRandom.current().nextInt(state.getBranchingFactor());
+            state.performActionForCurrentAgent(action);
+        }
+        return state;
+    }
+
+    @Override
+    public double getRewardFromTerminalState(SyntheticGameState terminalState) {
+        return terminalState.getWinnersIndex() == playerIndex ? 1 : 0;
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.nejc92.mcts.examples;
+
+import io.github.nejc92.mcts.MctsDomainState;
+import io.github.nejc92.mcts.MctsHashableDomainState;
+import io.github.nejc92.mcts.MctsIntActionDomainState;
+import io.github.nejc92.mcts.MctsReusableDomainState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SyntheticGameState implements MctsReusableDomainState<Integer, SyntheticGamePlayer>,
+        MctsHashableDomainState<Integer, SyntheticGamePlayer>, MctsIntActionDomainState<SyntheticGamePlayer> {
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final int depth;
+    private List<Integer> actions;
+    private SyntheticGamePlayer[] players;
+    private int currentPlayerIndex;
+    private int currentDepth;
+    private long pathHash;
+
+    public static SyntheticGameState initialize(int branchingFactor, int depth) {
+        SyntheticGamePlayer[] players = new SyntheticGamePlayer[] {
+                new SyntheticGamePlayer(0), new SyntheticGamePlayer(1)
+        };
+        return new SyntheticGameState(createActions(branchingFactor), depth, players);
+    }
+
+    private static List<Integer> createActions(int branchingFactor) {
+        List<Integer> actions = new ArrayList<>();
+        for (int action = 0; action < branchingFactor; action++) {
+            actions.add(action);
+        }
+        return Collections.unmodifiableList(actions);
+    }
+
+    private SyntheticGameState(List<Integer> actions, int depth, SyntheticGamePlayer[] players) {
+        this.actions = actions;
+        this.depth = depth;
+        this.players = players;
+        this.currentPlayerIndex = 0;
+        this.currentDepth = 0;
+        this.pathHash = 0;
+    }
+
+    @Override
+    public SyntheticGameState copy() {
+        SyntheticGameState copy = new SyntheticGameState(actions, depth, players);
+        copyInto(copy);
+        return copy;
+    }
+
+    @Override
+    public void copyInto(MctsReusableDomainState<Integer, SyntheticGamePlayer> target) {
+        SyntheticGameState targetState = (SyntheticGameState) target;
+        targetState.actions = actions;
+        targetState.players = players;
+        targetState.currentPlayerIndex = currentPlayerIndex;
+        targetState.currentDepth = currentDepth;
+        targetState.pathHash = pathHash;
+    }
+
+    @Override
+    public long getStateHash() {
+        return pathHash;
+    }
+
+    public int getBranchingFactor() {
+        return actions.size();
+    }
+
+    public int getWinnersIndex() {
+        return Long.bitCount(pathHash) % 2;
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return currentDepth == depth;
+    }
+
+    @Override
+    public SyntheticGamePlayer getCurrentAgent() {
+        return players[currentPlayerIndex];
+    }
+
+    @Override
+    public SyntheticGamePlayer getPreviousAgent() {
+        return players[1 - currentPlayerIndex];
+    }
+
+    @Override
+    public int getNumberOfAvailableActionsForCurrentAgent() {
+        return isTerminal() ? 0 : actions.size();
+    }
+
+    @Override
+    public List<Integer> getAvailableActionsForCurrentAgent() {
+        return isTerminal() ? Collections.emptyList() : actions;
+    }
+
+    @Override
+    public int getMaximumNumberOfAvailableActions() {
+        return actions.size();
+    }
+
+    @Override
+    public int getAvailableActionsForCurrentAgent(int[] availableActions) {
+        int numberOfAvailableActions = getNumberOfAvailableActionsForCurrentAgent();
+        for (int action = 0; action < numberOfAvailableActions; action++) {
+            availableActions[action] = action;
+        }
+        return numberOfAvailableActions;
+    }
+
+    @Override
+    public MctsDomainState performActionForCurrentAgent(Integer action) {
+        return performActionForCurrentAgent(action.intValue());
+    }
+
+    @Override
+    public MctsDomainState performActionForCurrentAgent(int action) {
+        pathHash = (pathHash + action + 1) * HASH_MULTIPLIER;
+        currentPlayerIndex = 1 - currentPlayerIndex;
+        currentDepth++;
+        return this;
+    }
+
+    @Override
+    public MctsDomainState skipCurrentAgent() {
+        currentPlayerIndex = 1 - currentPlayerIndex;
+        return this;
+    }
+}
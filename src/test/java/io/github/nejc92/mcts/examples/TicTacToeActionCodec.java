@@ -0,0 +1,17 @@
+package io.github.nejc92.mcts.examples;
+
+import io.github.nejc92.mcts.MctsActionCodec;
+
+public class TicTacToeActionCodec implements MctsActionCodec<String> {
+
+    // actions are the row and column of a position, so they are encoded as a two digit number
+    @Override
+    public long encodeAction(String action) {
+        return Long.parseLong(action);
+    }
+
+    @Override
+    public String decodeAction(long encodedAction) {
+        return String.valueOf(encodedAction / 10) + encodedAction % 10;
+    }
+}
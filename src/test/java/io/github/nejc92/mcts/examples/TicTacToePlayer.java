@@ -1,11 +1,12 @@
 package io.github.nejc92.mcts.examples;
 
-import io.github.nejc92.mcts.MctsDomainAgent;
+import io.github.nejc92.mcts.MctsRandom;
+import io.github.nejc92.mcts.MctsRolloutTrace;
+import io.github.nejc92.mcts.MctsTracingDomainAgent;
 
-import java.util.Collections;
 import java.util.List;
 
-public class TicTacToePlayer implements MctsDomainAgent<TicTacToeState> {
+public class TicTacToePlayer implements MctsTracingDomainAgent<TicTacToeState, String, TicTacToePlayer> {
 
     private final char boardPositionMarker;
 
@@ -41,6 +42,17 @@ public class TicTacToePlayer implements MctsDomainAgent<TicTacToeState> {
         return state;
     }
 
+    @Override
+    public TicTacToeState getTerminalStateByPerformingSimulationFromState(
+            TicTacToeState state, MctsRolloutTrace<String, TicTacToePlayer> rolloutTrace) {
+        while (!state.isTerminal()) {
+            String action = getBiasedOrRandomActionFromStatesAvailableActions(state);
+            rolloutTrace.addAction(state.getCurrentAgent(), action);
+            state.performActionForCurrentAgent(action);
+        }
+        return state;
+    }
+
     private String getBiasedOrRandomActionFromStatesAvailableActions(TicTacToeState state) {
         List<String> availableActions = state.getAvailableActionsForCurrentAgent();
         for (String action : availableActions) {
@@ -58,8 +70,7 @@ public class TicTacToePlayer implements MctsDomainAgent<TicTacToeState> {
     }
 
     private String getRandomActionFromActions(List<String> actions) {
-        Collections.shuffle(actions);
-        return actions.get(0);
+        return MctsRandom.getRandomElement(actions);
     }
 
     @Override
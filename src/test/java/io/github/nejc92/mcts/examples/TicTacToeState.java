@@ -1,12 +1,15 @@
 package io.github.nejc92.mcts.examples;
 
 import io.github.nejc92.mcts.MctsDomainState;
+import io.github.nejc92.mcts.MctsHashableDomainState;
+import io.github.nejc92.mcts.MctsReusableDomainState;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class TicTacToeState implements MctsDomainState<String, TicTacToePlayer> {
+public class TicTacToeState implements MctsReusableDomainState<String, TicTacToePlayer>,
+        MctsHashableDomainState<String, TicTacToePlayer> {
 
     private static final int BOARD_SIZE = 3;
     private static final char EMPTY_BOARD_POSITION = '-';
@@ -35,6 +38,22 @@ public class TicTacToeState implements MctsDomainState<String, TicTacToePlayer>
         this.currentRound = 0;
     }
 
+    private TicTacToeState(TicTacToeState state) {
+        this.board = copyBoard(state.board);
+        this.players = state.players;
+        this.currentPlayerIndex = state.currentPlayerIndex;
+        this.previousPlayerIndex = state.previousPlayerIndex;
+        this.currentRound = state.currentRound;
+    }
+
+    private static char[][] copyBoard(char[][] board) {
+        char[][] boardCopy = new char[BOARD_SIZE][];
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            boardCopy[row] = board[row].clone();
+        }
+        return boardCopy;
+    }
+
     private static char[][] initializeEmptyBoard() {
         char[][] board = new char[BOARD_SIZE][BOARD_SIZE];
         for (int row = 0; row < BOARD_SIZE; row++) {
@@ -73,6 +92,43 @@ public class TicTacToeState implements MctsDomainState<String, TicTacToePlayer>
         this.currentRound = round;
     }
 
+    @Override
+    public TicTacToeState copy() {
+        return new TicTacToeState(this);
+    }
+
+    @Override
+    public void copyInto(MctsReusableDomainState<String, TicTacToePlayer> target) {
+        TicTacToeState targetState = (TicTacToeState) target;
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            System.arraycopy(board[row], 0, targetState.board[row], 0, BOARD_SIZE);
+        }
+        targetState.players = players;
+        targetState.currentPlayerIndex = currentPlayerIndex;
+        targetState.previousPlayerIndex = previousPlayerIndex;
+        targetState.currentRound = currentRound;
+    }
+
+    @Override
+    public long getStateHash() {
+        long stateHash = currentPlayerIndex;
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int column = 0; column < BOARD_SIZE; column++) {
+                stateHash = stateHash * 3 + getBoardPositionCode(board[row][column]);
+            }
+        }
+        return stateHash;
+    }
+
+    private int getBoardPositionCode(char boardPosition) {
+        if (boardPosition == EMPTY_BOARD_POSITION)
+            return 0;
+        else if (boardPosition == players[0].getBoardPositionMarker())
+            return 1;
+        else
+            return 2;
+    }
+
     @Override
     public boolean isTerminal() {
         return somePlayerWon() || isDraw();
@@ -0,0 +1,44 @@
+package io.github.nejc92.mcts.examples;
+
+import io.github.nejc92.mcts.MctsStateSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TicTacToeStateSerializer implements MctsStateSerializer<TicTacToeState> {
+
+    private static final int BOARD_SIZE = 3;
+
+    // the state hash encodes the board and the current player, the state is rebuilt by replaying it
+    @Override
+    public byte[] serializeState(TicTacToeState state) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(state.getStateHash()).array();
+    }
+
+    @Override
+    public TicTacToeState deserializeState(byte[] serializedState) {
+        long stateHash = ByteBuffer.wrap(serializedState).getLong();
+        List<List<String>> actionsOfPlayers = new ArrayList<>();
+        actionsOfPlayers.add(new ArrayList<>());
+        actionsOfPlayers.add(new ArrayList<>());
+        for (int position = BOARD_SIZE * BOARD_SIZE - 1; position >= 0; position--) {
+            int positionCode = (int) (stateHash % 3);
+            String action = "" + position / BOARD_SIZE + position % BOARD_SIZE;
+            if (positionCode != 0)
+                actionsOfPlayers.get(positionCode - 1).add(0, action);
+            stateHash /= 3;
+        }
+        int currentPlayerIndex = (int) stateHash;
+        int firstPlayerIndex = actionsOfPlayers.get(0).size() == actionsOfPlayers.get(1).size()
+                ? currentPlayerIndex : 1 - currentPlayerIndex;
+        TicTacToeState state = TicTacToeState.initialize(
+                firstPlayerIndex == 0 ? TicTacToePlayer.Type.NOUGHT : TicTacToePlayer.Type.CROSS);
+        for (int i = 0; i < actionsOfPlayers.get(firstPlayerIndex).size(); i++) {
+            state.performActionForCurrentAgent(actionsOfPlayers.get(firstPlayerIndex).get(i));
+            if (i < actionsOfPlayers.get(1 - firstPlayerIndex).size())
+                state.performActionForCurrentAgent(actionsOfPlayers.get(1 - firstPlayerIndex).get(i));
+        }
+        return state;
+    }
+}
@@ -170,4 +170,38 @@ public class TicTacToeStateTest {
         state.setBoard(NON_TERMINAL_BOARD);
         state.performActionForCurrentAgent("02");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCopyIsIndependentOfOriginal() {
+        state.setBoard(NON_TERMINAL_BOARD);
+        TicTacToeState copy = state.copy();
+        copy.performActionForCurrentAgent("01");
+        assertEquals('-', state.getBoard()[0][1]);
+        assertEquals(state.getCurrentAgent(), copy.getPreviousAgent());
+    }
+
+    @Test
+    public void testCopyIntoOverwritesTarget() {
+        state.setBoard(NON_TERMINAL_BOARD);
+        TicTacToeState target = TicTacToeState.initialize(TicTacToePlayer.Type.CROSS);
+        state.copyInto(target);
+        assertArrayEquals(NON_TERMINAL_BOARD, target.getBoard());
+        assertEquals(state.getCurrentAgent(), target.getCurrentAgent());
+        target.performActionForCurrentAgent("01");
+        assertEquals('-', state.getBoard()[0][1]);
+    }
+
+    @Test
+    public void testTransposedStatesHaveEqualHashes() {
+        TicTacToeState transposedState = TicTacToeState.initialize(TicTacToePlayer.Type.NOUGHT);
+        state.performActionForCurrentAgent("00");
+        state.performActionForCurrentAgent("11");
+        state.performActionForCurrentAgent("22");
+        transposedState.performActionForCurrentAgent("22");
+        transposedState.performActionForCurrentAgent("11");
+        transposedState.performActionForCurrentAgent("00");
+        assertEquals(state.getStateHash(), transposedState.getStateHash());
+        transposedState.undoAction("00");
+        assertNotEquals(state.getStateHash(), transposedState.getStateHash());
+    }
+}